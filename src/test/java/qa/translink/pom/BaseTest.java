@@ -6,50 +6,71 @@ import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.SkipException;
 import org.testng.annotations.*;
+import qa.translink.pom.browser.BrowserContext;
+import qa.translink.pom.browser.ChromeHost;
+import qa.translink.pom.browser.NetworkProfile;
+import qa.translink.pom.browser.RecyclePolicy;
+import qa.translink.pom.browser.SessionResourceReport;
+import qa.translink.pom.browser.SessionTelemetry;
+import qa.translink.pom.timing.TimedWait;
+import qa.translink.pom.timing.TimingProfile;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 public class BaseTest {
     protected WebDriver d;
     protected WebDriverWait wait;
+    /** -DNET_PROFILE applied to every session (NONE when unset); restore it after a temporary profile. */
+    protected NetworkProfile sessionProfile = NetworkProfile.NONE;
+    private BrowserContext context;
+    private SessionTelemetry telemetry;
+    private final RecyclePolicy recycle = RecyclePolicy.fromSystemProperties();
 
     @BeforeClass(alwaysRun = true)
-    public void setUp() { initDriver(); }
+    public void setUp() { if (needsBrowser()) initDriver(); }
 
     @BeforeMethod(alwaysRun = true)
     public void ensureDriverReady() {
-        if (d == null) initDriver();
+        if (d == null && needsBrowser()) initDriver();
     }
 
+    /** Opt-in suites (e.g. the perf lab) return false when disabled so no Chrome is started for them. */
+    protected boolean needsBrowser() { return true; }
+
+    /** Suites that need extra Chrome switches add them here; not applied to a SHARED_BROWSER started by another suite. */
+    protected void customizeOptions(ChromeOptions opts) {}
+
     private void initDriver() {
         if (d != null) return;
 
         try {
-            WebDriverManager.chromedriver().setup();
-
-            ChromeOptions opts = new ChromeOptions();
-            boolean headless = !"false".equalsIgnoreCase(System.getProperty("HEADLESS", "true"));
-            if (headless) opts.addArguments("--headless=new");
-            opts.addArguments(
-                    "--window-size=1400,900",
-                    "--disable-gpu",
-                    "--no-sandbox",
-                    "--lang=en-US",
-                    "--disable-dev-shm-usage",
-                    "--disable-features=AutomationControlled",
-                    "--disable-blink-features=AutomationControlled",
-                    "--remote-allow-origins=*",
-                    "--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Safari/537.36"
-            );
-            opts.setExperimentalOption("excludeSwitches", List.of("enable-automation"));
-            opts.setExperimentalOption("useAutomationExtension", false);
-
-            d = new ChromeDriver(opts);
-
-            wait = new WebDriverWait(d, Duration.ofSeconds(30), Duration.ofMillis(250));
+            // a preset driver path keeps offline runs (perf lab against a local mirror) off the network
+            if (System.getProperty("webdriver.chrome.driver") == null) WebDriverManager.chromedriver().setup();
+
+            if (ChromeHost.enabled()) {
+                context = ChromeHost.shared(this::chromeOptions).newContext();
+                d = context.driver();
+            } else {
+                d = new ChromeDriver(chromeOptions());
+            }
+
+            wait = new TimedWait(d, "driver.wait", Duration.ofSeconds(30), Duration.ofMillis(250));
+            telemetry = SessionTelemetry.start(getClass().getSimpleName());
+
+            String profile = System.getProperty("NET_PROFILE");
+            if (profile != null && !profile.isBlank()) {
+                sessionProfile = NetworkProfile.parse(profile);
+                sessionProfile.apply(d);
+                if (sessionProfile.requestDropPct > 0) {
+                    System.err.println("[BaseTest] NET_PROFILE=" + profile + ": request drops are only emulated by the perf lab's local site");
+                }
+            }
 
             if (d instanceof JavascriptExecutor js) {
                 js.executeScript("Object.defineProperty(navigator,'webdriver',{get:()=>undefined})");
@@ -65,6 +86,27 @@ public class BaseTest {
         }
     }
 
+    private ChromeOptions chromeOptions() {
+        ChromeOptions opts = new ChromeOptions();
+        boolean headless = !"false".equalsIgnoreCase(System.getProperty("HEADLESS", "true"));
+        if (headless) opts.addArguments("--headless=new");
+        opts.addArguments(
+                "--window-size=1400,900",
+                "--disable-gpu",
+                "--no-sandbox",
+                "--lang=en-US",
+                "--disable-dev-shm-usage",
+                "--disable-features=AutomationControlled",
+                "--disable-blink-features=AutomationControlled",
+                "--remote-allow-origins=*",
+                "--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Safari/537.36"
+        );
+        opts.setExperimentalOption("excludeSwitches", List.of("enable-automation"));
+        opts.setExperimentalOption("useAutomationExtension", false);
+        customizeOptions(opts);
+        return opts;
+    }
+
     @AfterMethod(alwaysRun = true)
     public void snapOnFail(ITestResult r) {
         try {
@@ -75,9 +117,37 @@ public class BaseTest {
         } catch (Throwable ignore) {}
     }
 
+    /** Sample browser resources after every test and restart the session once it crosses a {@link RecyclePolicy} threshold. */
+    @AfterMethod(alwaysRun = true, dependsOnMethods = "snapOnFail")
+    public void sampleAndRecycle(ITestResult r) {
+        if (d == null || telemetry == null) return;
+        Optional<SessionTelemetry.Sample> s = telemetry.sample(d, r.getMethod().getMethodName());
+        s.ifPresent(smp -> Reporter.log("[resources] " + telemetry.id() + " after " + smp.test() + ": " + smp.values()));
+        Optional<String> reason = recycle.check(telemetry, s.orElse(null));
+        if (reason.isPresent()) {
+            System.out.println("[BaseTest] recycling " + telemetry.id() + ": " + reason.get());
+            telemetry.markRecycled(reason.get());
+            quitDriver(); // next @BeforeMethod starts a fresh session
+        }
+    }
+
     @AfterClass(alwaysRun = true)
     public void tearDown() {
-        try { if (d != null) d.quit(); } catch (Throwable ignore) {}
-        d = null; wait = null;
+        quitDriver();
+        TimingProfile.save();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void writeResourceReport() {
+        Path report = SessionResourceReport.write();
+        if (report != null) System.out.println("[BaseTest] session resources: " + report.toAbsolutePath());
+    }
+
+    private void quitDriver() {
+        try {
+            if (context != null) context.close();
+            else if (d != null) d.quit();
+        } catch (Throwable ignore) {}
+        d = null; wait = null; context = null; telemetry = null;
     }
 }
@@ -4,8 +4,12 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import qa.translink.pom.timing.Deadline;
+import qa.translink.pom.timing.TimedWait;
+import qa.translink.pom.timing.TimingProfile;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -33,18 +37,52 @@ public final class ScheduleAsserts {
      * 4) Normalize across midnight and assert strictly increasing + headway ≤ MAX_HEADWAY_MIN.
      */
     public static void assertFirstFourIncreasingAndHeadway(WebDriver d, String stopNumber) {
-        WebDriverWait wait = new WebDriverWait(d, Duration.ofSeconds(20));
+        System.out.println(validate(d, stopNumber).message());
+    }
+
+    /**
+     * Same check, skipped when the slice it validates (the first 4 distinct visible times) hashes to a fingerprint that
+     * already passed for this route, stop, service date and HEADWAY_MAX (see -DVALIDATION_CACHE). The fingerprint is
+     * computed in the browser by the same visible-slice script, so an unchanged slice costs one call and no cell data.
+     * Only passes from the visible-slice path whose values match the fingerprint are stored; failures always re-run.
+     */
+    public static void assertFirstFourIncreasingAndHeadway(WebDriver d, String route, LocalDate serviceDate, String stopNumber) {
+        Optional<ValidationCache> cache = ValidationCache.configured();
+        if (cache.isEmpty()) { assertFirstFourIncreasingAndHeadway(d, stopNumber); return; }
+
+        String fp = retryOnStale("schedule.fingerprint", () -> visibleFingerprint(d, stopNumber), Duration.ofSeconds(4));
+        if (fp == null) { assertFirstFourIncreasingAndHeadway(d, stopNumber); return; }
+
+        String key = route + "|" + stopNumber + "|" + serviceDate + "|" + MAX_HEADWAY_MIN;
+        Optional<String> cached = cache.get().get(key, fp);
+        if (cached.isPresent()) {
+            System.out.println(cached.get() + " [cached]");
+            return;
+        }
+
+        Checked ok = validate(d, stopNumber);
+        if (ok.visibleSlice() != null && fp.equals(fingerprint(ok.visibleSlice()))) cache.get().put(key, fp, ok.message());
+        System.out.println(ok.message());
+    }
+
+    /** Result of a passing check; visibleSlice is the validated service-clock slice when it came from step (1). */
+    private record Checked(String message, List<Integer> visibleSlice) {}
+
+    private static Checked validate(WebDriver d, String stopNumber) {
+        WebDriverWait wait = new TimedWait(d, "schedule.main", Duration.ofSeconds(20), Duration.ofMillis(500));
         wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("main")));
 
         // (1) Visible-first extraction
-        List<Integer> svcMinutes = retryOnStale(
+        List<Integer> svcMinutes = retryOnStale("schedule.visible",
                 () -> extractFirstFourVisibleServiceMinutes(d, stopNumber),
                 Duration.ofSeconds(4)
         );
 
+        List<Integer> visibleSlice = svcMinutes.size() < 4 ? null : List.copyOf(svcMinutes);
+
         // (2) Fallback to ALL data-stop-time cells (earliest-of-day)
         if (svcMinutes.size() < 4) {
-            svcMinutes = retryOnStale(
+            svcMinutes = retryOnStale("schedule.allCells",
                     () -> extractFirstFourServiceMinutesFromRow(d, stopNumber),
                     Duration.ofSeconds(6)
             );
@@ -52,7 +90,7 @@ public final class ScheduleAsserts {
 
         // (3) Fallback to visible text times
         if (svcMinutes.size() < 4) {
-            List<String> times = retryOnStale(
+            List<String> times = retryOnStale("schedule.textTimes",
                     () -> extractFirstFourTextTimesFromRow(d, stopNumber),
                     Duration.ofSeconds(6)
             );
@@ -78,56 +116,39 @@ public final class ScheduleAsserts {
             }
         }
 
-        System.out.println("[OK] Stop #" + stopNumber + " first 4: " +
+        return new Checked("[OK] Stop #" + stopNumber + " first 4: " +
                 norm.stream().map(ScheduleAsserts::fmt).collect(Collectors.joining(", ")) +
-                " — strictly increasing, headway ≤ " + MAX_HEADWAY_MIN + "m.");
+                " — strictly increasing, headway ≤ " + MAX_HEADWAY_MIN + "m.", visibleSlice);
     }
 
     // =================== extraction ===================
 
-    /** Visible-first: take the first 4 cells that are actually visible in the row's horizontal viewport. */
-    @SuppressWarnings("unchecked")
-    private static List<Integer> extractFirstFourVisibleServiceMinutes(WebDriver d, String stopNumber) {
-        By rowXp = By.xpath(".//tr[.//th//a[contains(@href,'/schedules-and-maps/stop/" + stopNumber + "/schedule')]]");
-        WebElement row = waitRowPresent(d, rowXp);
-
-        // JS finds the nearest horizontal scroll container and returns raw data-stop-time for intersecting cells
-        String js = """
-            const row = arguments[0];
-            function getScrollContainer(el){
-              while (el && el !== document.body){
-                const cs = getComputedStyle(el);
-                if (/(auto|scroll)/.test(cs.overflowX)) return el;
-                el = el.parentElement;
-              }
-              return window;
-            }
-            const sc = getScrollContainer(row);
-            const scRect = (sc === window)
-              ? {left: 0, right: window.innerWidth, top: 0, bottom: window.innerHeight}
-              : sc.getBoundingClientRect();
-
-            const cells = Array.from(row.querySelectorAll("td[data-stop-time]"));
-            const out = [];
-            for (const td of cells){
-              const r = td.getBoundingClientRect();
-              const horiz = r.right > scRect.left && r.left < scRect.right;
-              const vert  = r.bottom > scRect.top  && r.top  < scRect.bottom;
-              if (horiz && vert) {
-                const v = td.getAttribute("data-stop-time");
-                if (v && /^\\d+$/.test(v)) out.push(parseInt(v,10));
-              }
-            }
-            return out;
-        """;
+    /** Fingerprint of the first 4 distinct visible service-clock times, or null when fewer are visible. */
+    private static String visibleFingerprint(WebDriver d, String stopNumber) {
+        waitRowPresent(d, rowXpath(stopNumber));
+        return (String) ((JavascriptExecutor) d).executeScript(VISIBLE_FINGERPRINT_JS, stopNumber);
+    }
 
-        List<Number> rawVisible = (List<Number>) ((JavascriptExecutor) d).executeScript(js, row);
-        if (rawVisible == null) return Collections.emptyList();
+    /** Java twin of the hash in VISIBLE_FINGERPRINT_JS: "count:fnv1a:djb2" over "v;" per value. */
+    static String fingerprint(List<Integer> svc) {
+        int h1 = 0x811c9dc5, h2 = 5381;
+        for (int m : svc) {
+            String v = m + ";";
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                h1 = (h1 ^ c) * 0x01000193;
+                h2 = h2 * 33 + c;
+            }
+        }
+        return svc.size() + ":" + Integer.toHexString(h1) + ":" + Integer.toHexString(h2);
+    }
 
-        // Map raw -> service-clock; keep original visible order; take first 4 distinct
-        List<Integer> svc = new ArrayList<>(rawVisible.size());
-        for (Number n : rawVisible) svc.add(toServiceClock(n.intValue()));
+    /** Visible-first: take the first 4 cells that are actually visible in the row's horizontal viewport. */
+    private static List<Integer> extractFirstFourVisibleServiceMinutes(WebDriver d, String stopNumber) {
+        waitRowPresent(d, rowXpath(stopNumber));
+        List<Integer> svc = visibleServiceMinutes(d, List.of(stopNumber)).getOrDefault(stopNumber, List.of());
 
+        // keep original visible order; take first 4 distinct
         List<Integer> first4 = new ArrayList<>(4);
         Integer prev = null;
         for (Integer m : svc) {
@@ -140,10 +161,110 @@ public final class ScheduleAsserts {
         return first4;
     }
 
+    /**
+     * Service-clock minutes of the cells inside the horizontal viewport, for any number of stop rows in one script call.
+     * Stops without a rendered row (or scrolled out vertically) map to an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, List<Integer>> visibleServiceMinutes(WebDriver d, List<String> stopNumbers) {
+        List<Number> empty = List.of();
+        Map<String, List<Number>> raw = (Map<String, List<Number>>)
+                ((JavascriptExecutor) d).executeScript(VISIBLE_SLICE_JS, stopNumbers);
+
+        Map<String, List<Integer>> out = new LinkedHashMap<>();
+        for (String stop : stopNumbers) {
+            List<Number> vals = raw == null ? empty : raw.getOrDefault(stop, empty);
+            List<Integer> svc = new ArrayList<>(vals.size());
+            for (Number n : vals) svc.add(toServiceClock(n.intValue()));
+            out.put(stop, svc);
+        }
+        return out;
+    }
+
+    /*
+     * Cells are ordered by column, so per row the first visible cell is found by binary search on its right edge
+     * and the slice ends at the first cell starting past the viewport: O(log n + visible) rect reads instead of n.
+     * The scroll container is resolved once per table and cached on the element (a re-rendered table resolves again).
+     */
+    private static final String VISIBLE_SLICE_FN = """
+      function visibleSlices(stopList){
+        const wanted = new Set(stopList);
+        const rows = new Map();
+        for (const a of document.querySelectorAll("tr th a[href*='/schedules-and-maps/stop/']")){
+          const m = /\\/stop\\/(\\d+)\\/schedule/.exec(a.getAttribute("href") || "");
+          if (m && wanted.has(m[1]) && !rows.has(m[1])) rows.set(m[1], a.closest("tr"));
+        }
+        function scrollContainer(table){
+          if (table.__tlScroll !== undefined) return table.__tlScroll;
+          let el = table;
+          while (el && el !== document.body){
+            if (/(auto|scroll)/.test(getComputedStyle(el).overflowX)) return table.__tlScroll = el;
+            el = el.parentElement;
+          }
+          return table.__tlScroll = null;
+        }
+        const views = new Map();
+        function viewOf(row){
+          const table = row.closest("table") || row;
+          if (!views.has(table)){
+            const sc = scrollContainer(table);
+            views.set(table, sc
+              ? sc.getBoundingClientRect()
+              : {left: 0, right: window.innerWidth, top: 0, bottom: window.innerHeight});
+          }
+          return views.get(table);
+        }
+        const out = {};
+        for (const [stop, row] of rows){
+          const view = viewOf(row);
+          const rr = row.getBoundingClientRect();
+          const vals = [];
+          out[stop] = vals;
+          if (!(rr.bottom > view.top && rr.top < view.bottom)) continue;
+          const cells = row.querySelectorAll("td[data-stop-time]");
+          let lo = 0, hi = cells.length;
+          while (lo < hi){
+            const mid = (lo + hi) >> 1;
+            if (cells[mid].getBoundingClientRect().right > view.left) hi = mid; else lo = mid + 1;
+          }
+          for (let i = lo; i < cells.length; i++){
+            if (cells[i].getBoundingClientRect().left >= view.right) break;
+            const v = cells[i].getAttribute("data-stop-time");
+            if (v && /^\\d+$/.test(v)) vals.push(parseInt(v,10));
+          }
+        }
+        return out;
+      }
+    """;
+
+    private static final String VISIBLE_SLICE_JS = VISIBLE_SLICE_FN + "return visibleSlices(arguments[0]);";
+
+    /** Same slice, deduplicated and cut to 4 like extractFirstFourVisibleServiceMinutes, hashed in the page. */
+    private static final String VISIBLE_FINGERPRINT_JS = VISIBLE_SLICE_FN + """
+        const raw = visibleSlices([arguments[0]])[arguments[0]] || [];
+        const first = [];
+        for (const r of raw){
+          const m = (((r + %d) %% 1440) + 1440) %% 1440;
+          if (first.length && first[first.length - 1] === m) continue;
+          first.push(m);
+          if (first.length === 4) break;
+        }
+        if (first.length < 4) return null;
+        let h1 = 0x811c9dc5, h2 = 5381;
+        for (const m of first){
+          const v = m + ";";
+          for (let i = 0; i < v.length; i++){
+            const c = v.charCodeAt(i);
+            h1 = Math.imul(h1 ^ c, 0x01000193);
+            h2 = (Math.imul(h2, 33) + c) | 0;
+          }
+        }
+        return first.length + ":" + (h1 >>> 0).toString(16) + ":" + (h2 >>> 0).toString(16);
+    """.formatted(SERVICE_OFFSET_MIN);
+
     /** Read ALL data-stop-time cells, convert to service clock, sort asc, distinct, take first 4 (earliest-of-day). */
     private static List<Integer> extractFirstFourServiceMinutesFromRow(WebDriver d, String stopNumber) {
-        By rowXp = By.xpath(".//tr[.//th//a[contains(@href,'/schedules-and-maps/stop/" + stopNumber + "/schedule')]]");
-        WebElement row = waitRowPresent(d, rowXp);
+        WebElement row = waitRowPresent(d, rowXpath(stopNumber));
 
         List<WebElement> tds = row.findElements(By.xpath(".//td[@data-stop-time]"));
         List<Integer> svc = new ArrayList<>(tds.size());
@@ -172,8 +293,7 @@ public final class ScheduleAsserts {
 
     /** Fallback: parse first 4 visible text times (already service clock, e.g. "6:55 am"). */
     private static List<String> extractFirstFourTextTimesFromRow(WebDriver d, String stopNumber) {
-        By rowXp = By.xpath(".//tr[.//th//a[contains(@href,'/schedules-and-maps/stop/" + stopNumber + "/schedule')]]");
-        WebElement row = waitRowPresent(d, rowXp);
+        WebElement row = waitRowPresent(d, rowXpath(stopNumber));
 
         List<WebElement> tds = row.findElements(By.xpath(".//td[contains(.,':')]"));
         List<String> times = new ArrayList<>(4);
@@ -257,23 +377,31 @@ public final class ScheduleAsserts {
     }
 
     /** Generic retry wrapper to recover from StaleElementReferenceException. */
-    private static <T> T retryOnStale(Supplier<T> fn, Duration timeout) {
-        long end = System.currentTimeMillis() + timeout.toMillis();
+    private static <T> T retryOnStale(String name, Supplier<T> fn, Duration timeout) {
+        long pollMs = TimingProfile.poll(name, Duration.ofMillis(100)).toMillis();
+        Deadline deadline = new Deadline(name, timeout);
         RuntimeException last = null;
-        while (System.currentTimeMillis() < end) {
+        while (deadline.pending()) {
             try {
-                return fn.get();
+                T v = fn.get();
+                deadline.succeeded();
+                return v;
             } catch (StaleElementReferenceException e) {
                 last = e;
-                try { Thread.sleep(100); } catch (InterruptedException ignored) {}
+                try { Thread.sleep(pollMs); } catch (InterruptedException ignored) {}
             }
         }
+        deadline.timedOut();
         throw last != null ? last : new RuntimeException("Timeout in retryOnStale");
     }
 
+    private static By rowXpath(String stopNumber) {
+        return By.xpath(".//tr[.//th//a[contains(@href,'/schedules-and-maps/stop/" + stopNumber + "/schedule')]]");
+    }
+
     /** Wait until a row for stopNumber is present. */
     private static WebElement waitRowPresent(WebDriver d, By rowXp) {
-        WebDriverWait wait = new WebDriverWait(d, Duration.ofSeconds(10));
+        WebDriverWait wait = new TimedWait(d, "schedule.row", Duration.ofSeconds(10), Duration.ofMillis(500));
         return wait.until(ExpectedConditions.presenceOfElementLocated(rowXp));
     }
 }
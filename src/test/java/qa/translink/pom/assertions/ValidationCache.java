@@ -0,0 +1,121 @@
+package qa.translink.pom.assertions;
+
+import qa.translink.pom.io.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Passed schedule checks keyed by route/stop/service date/headway limit, valid while the slice fingerprint matches.
+ * Failures are never stored, so a one-off rendering flake cannot be replayed. Stored as one tab-separated line per
+ * entry, least recently used first; the file is capped at -DVALIDATION_CACHE_MAX_BYTES and evicts from the LRU end.
+ * Recency of hits is persisted with the next write.
+ */
+final class ValidationCache {
+
+    private record Entry(String fingerprint, String detail, int bytes) {}
+
+    private static final long DEFAULT_MAX_BYTES = 1L << 20;
+    private static final String HEADER = "# validation-cache v2: key, fingerprint, pass message";
+    private static Optional<ValidationCache> instance;
+
+    private final Path file;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    ValidationCache(Path file, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    /** Cache enabled by -DVALIDATION_CACHE=path; empty when off. */
+    static synchronized Optional<ValidationCache> configured() {
+        if (instance == null) {
+            String path = System.getProperty("VALIDATION_CACHE");
+            long max = Long.getLong("VALIDATION_CACHE_MAX_BYTES", DEFAULT_MAX_BYTES);
+            instance = (path == null || path.isBlank()) ? Optional.empty() : Optional.of(new ValidationCache(Path.of(path), max));
+        }
+        return instance;
+    }
+
+    /** The stored pass message when the fingerprint still matches. */
+    synchronized Optional<String> get(String key, String fingerprint) {
+        Entry e = entries.get(key);
+        return (e != null && e.fingerprint().equals(fingerprint)) ? Optional.of(e.detail()) : Optional.empty();
+    }
+
+    synchronized void put(String key, String fingerprint, String passDetail) {
+        Entry e = new Entry(fingerprint, passDetail, line(key, fingerprint, passDetail).getBytes(StandardCharsets.UTF_8).length + 1);
+        Entry old = entries.put(key, e);
+        if (old != null) bytes -= old.bytes();
+        bytes += e.bytes();
+        evict();
+        save();
+    }
+
+    // ===== internals =====
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().getValue().bytes();
+            it.remove();
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) return;
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+                System.err.println("[ValidationCache] ignoring " + file + ": unknown format");
+                return;
+            }
+            for (String l : lines.subList(1, lines.size())) {
+                String[] f = l.split("\t", 3);
+                if (f.length < 3) continue;
+                Entry e = new Entry(f[1], unescape(f[2]), l.getBytes(StandardCharsets.UTF_8).length + 1);
+                Entry old = entries.put(unescape(f[0]), e);
+                if (old != null) bytes -= old.bytes();
+                bytes += e.bytes();
+            }
+            evict();
+        } catch (IOException e) {
+            System.err.println("[ValidationCache] cannot read " + file + ": " + e);
+        }
+    }
+
+    private void save() {
+        List<String> lines = new ArrayList<>(entries.size() + 1);
+        lines.add(HEADER);
+        entries.forEach((k, e) -> lines.add(line(k, e.fingerprint(), e.detail())));
+        try {
+            AtomicFiles.writeLines(file, lines);
+        } catch (IOException e) {
+            System.err.println("[ValidationCache] cannot write " + file + ": " + e);
+        }
+    }
+
+    private static String line(String key, String fingerprint, String detail) {
+        return escape(key) + "\t" + fingerprint + "\t" + escape(detail);
+    }
+
+    static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) { sb.append(c); continue; }
+            char n = s.charAt(++i);
+            sb.append(switch (n) { case 't' -> '\t'; case 'n' -> '\n'; case 'r' -> '\r'; default -> n; });
+        }
+        return sb.toString();
+    }
+}
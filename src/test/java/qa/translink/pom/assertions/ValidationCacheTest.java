@@ -0,0 +1,57 @@
+package qa.translink.pom.assertions;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public class ValidationCacheTest {
+
+    @Test
+    public void hit_requires_matching_fingerprint_and_survives_reload() throws Exception {
+        Path file = Files.createTempDirectory("vc").resolve("cache.tsv");
+        ValidationCache c = new ValidationCache(file, 1 << 20);
+        c.put("99|50913|2026-10-20|60", "4:aa:bb", "[OK] tab\there\nnewline \\ slash");
+
+        Assert.assertEquals(c.get("99|50913|2026-10-20|60", "4:aa:cc"), Optional.empty());
+        ValidationCache reloaded = new ValidationCache(file, 1 << 20);
+        Assert.assertEquals(reloaded.get("99|50913|2026-10-20|60", "4:aa:bb"), Optional.of("[OK] tab\there\nnewline \\ slash"));
+    }
+
+    @Test
+    public void evicts_least_recently_used_past_size_cap() throws Exception {
+        Path file = Files.createTempDirectory("vc").resolve("cache.tsv");
+        ValidationCache c = new ValidationCache(file, 25); // two ~11-byte lines fit, three do not
+        c.put("k1", "fp1", "one");
+        c.put("k2", "fp2", "two");
+        c.get("k1", "fp1"); // k2 is now the eldest
+        c.put("k3", "fp3", "three");
+
+        Assert.assertTrue(c.get("k1", "fp1").isPresent());
+        Assert.assertTrue(c.get("k2", "fp2").isEmpty());
+        Assert.assertTrue(c.get("k3", "fp3").isPresent());
+    }
+
+    @Test
+    public void ignores_files_in_an_unknown_format() throws Exception {
+        Path file = Files.createTempDirectory("vc").resolve("cache.tsv");
+        Files.writeString(file, "k1\tfp1\tFAIL\tboom\n");
+        Assert.assertTrue(new ValidationCache(file, 1 << 20).get("k1", "fp1").isEmpty());
+    }
+
+    @Test
+    public void escape_round_trips() {
+        String s = "a\tb\nc\rd\\e\\t";
+        Assert.assertEquals(ValidationCache.unescape(ValidationCache.escape(s)), s);
+        Assert.assertFalse(ValidationCache.escape(s).contains("\t"));
+    }
+
+    @Test
+    public void java_fingerprint_matches_browser_hash() {
+        // value produced by the VISIBLE_FINGERPRINT_JS hash loop for the same slice
+        Assert.assertEquals(ScheduleAsserts.fingerprint(List.of(300, 310, 320, 330)), "4:46c94d71:a0d98c43");
+    }
+}
@@ -0,0 +1,99 @@
+package qa.translink.pom.browser;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal CDP client on the browser-level target (not a page), needed for Target.* commands that
+ * chromedriver's executeCdpCommand cannot issue from inside a page session.
+ */
+final class BrowserCdp implements AutoCloseable {
+
+    private static final Json JSON = new Json();
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final WebSocket ws;
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<Map<String, Object>>> pending = new ConcurrentHashMap<>();
+
+    private BrowserCdp(WebSocket ws) {
+        this.ws = ws;
+    }
+
+    /** Connect via the "host:port" chromedriver reports as goog:chromeOptions.debuggerAddress. */
+    static BrowserCdp connect(String debuggerAddress) {
+        try {
+            HttpClient http = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+            HttpResponse<String> version = http.send(
+                    HttpRequest.newBuilder(URI.create("http://" + debuggerAddress + "/json/version")).timeout(TIMEOUT).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Map<String, Object> info = JSON.toType(version.body(), Json.MAP_TYPE);
+            String wsUrl = (String) info.get("webSocketDebuggerUrl");
+            if (wsUrl == null) throw new WebDriverException("no webSocketDebuggerUrl at " + debuggerAddress);
+
+            BrowserCdp[] self = new BrowserCdp[1];
+            WebSocket ws = http.newWebSocketBuilder().buildAsync(URI.create(wsUrl), new WebSocket.Listener() {
+                private final StringBuilder buf = new StringBuilder();
+
+                @Override
+                public CompletionStage<?> onText(WebSocket w, CharSequence data, boolean last) {
+                    buf.append(data);
+                    if (last) { self[0].onMessage(buf.toString()); buf.setLength(0); }
+                    w.request(1);
+                    return null;
+                }
+            }).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            self[0] = new BrowserCdp(ws);
+            return self[0];
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("interrupted connecting to " + debuggerAddress, e);
+        } catch (Exception e) {
+            throw new WebDriverException("cannot connect to browser CDP at " + debuggerAddress, e);
+        }
+    }
+
+    Map<String, Object> send(String method, Map<String, Object> params) {
+        int id = ids.incrementAndGet();
+        CompletableFuture<Map<String, Object>> f = new CompletableFuture<>();
+        pending.put(id, f);
+        ws.sendText(JSON.toJson(Map.of("id", id, "method", method, "params", params)), true);
+        try {
+            return f.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new WebDriverException(method + " failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(method + " interrupted", e);
+        } catch (TimeoutException e) {
+            throw new WebDriverException(method + " timed out", e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onMessage(String text) {
+        Map<String, Object> msg = JSON.toType(text, Json.MAP_TYPE);
+        if (!(msg.get("id") instanceof Number n)) return; // events are not used
+        CompletableFuture<Map<String, Object>> f = pending.get(n.intValue());
+        if (f == null) return;
+        if (msg.get("error") instanceof Map<?, ?> err) f.completeExceptionally(new WebDriverException(String.valueOf(err.get("message"))));
+        else f.complete(msg.get("result") instanceof Map<?, ?> r ? (Map<String, Object>) r : Map.of());
+    }
+
+    @Override
+    public void close() {
+        try { ws.sendClose(WebSocket.NORMAL_CLOSURE, "").get(2, TimeUnit.SECONDS); } catch (Exception ignore) {}
+    }
+}
@@ -0,0 +1,29 @@
+package qa.translink.pom.browser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+/** An isolated browser context inside the shared {@link ChromeHost}, driven by its own attached session. */
+public final class BrowserContext implements AutoCloseable {
+
+    private final ChromeHost host;
+    private final String id;
+    private final ChromeDriver driver;
+
+    BrowserContext(ChromeHost host, String id, ChromeDriver driver) {
+        this.host = host;
+        this.id = id;
+        this.driver = driver;
+    }
+
+    public WebDriver driver() { return driver; }
+
+    public String id() { return id; }
+
+    /** Ends the attached session (an attached chromedriver session leaves the browser running) and disposes the context. */
+    @Override
+    public void close() {
+        try { driver.quit(); } catch (Throwable ignore) {}
+        host.disposeContext(id);
+    }
+}
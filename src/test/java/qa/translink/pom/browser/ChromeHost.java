@@ -0,0 +1,86 @@
+package qa.translink.pom.browser;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * One Chrome process shared by all test classes (-DSHARED_BROWSER=true). Each {@link BrowserContext} is an
+ * isolated CDP browser context (own cookies, storage, cache) with its own chromedriver session attached to
+ * the same process, so page objects keep getting a plain WebDriver.
+ */
+public final class ChromeHost {
+
+    private static ChromeHost shared;
+
+    private final ChromeDriver host;
+    private final String debuggerAddress;
+    private final BrowserCdp cdp;
+
+    private ChromeHost(ChromeOptions options) {
+        this.host = new ChromeDriver(options);
+        try {
+            Object chromeOpts = host.getCapabilities().getCapability("goog:chromeOptions");
+            this.debuggerAddress = chromeOpts instanceof Map<?, ?> m ? (String) m.get("debuggerAddress") : null;
+            if (debuggerAddress == null) throw new WebDriverException("chromedriver did not report debuggerAddress");
+            this.cdp = BrowserCdp.connect(debuggerAddress);
+        } catch (RuntimeException e) {
+            host.quit();
+            throw e;
+        }
+    }
+
+    public static boolean enabled() {
+        return Boolean.getBoolean("SHARED_BROWSER");
+    }
+
+    /** The shared process, started on first use with the given options and quit at JVM exit. */
+    public static synchronized ChromeHost shared(Supplier<ChromeOptions> options) {
+        if (shared == null) {
+            shared = new ChromeHost(options.get());
+            Runtime.getRuntime().addShutdownHook(new Thread(ChromeHost::shutdown, "chrome-host-quit"));
+        }
+        return shared;
+    }
+
+    public synchronized BrowserContext newContext() {
+        String contextId = (String) cdp.send("Target.createBrowserContext", Map.of("disposeOnDetach", false)).get("browserContextId");
+        String targetId = null;
+        ChromeDriver driver = null;
+        try {
+            targetId = (String) cdp.send("Target.createTarget", Map.of(
+                    "url", "about:blank", "browserContextId", contextId, "width", 1400, "height", 900)).get("targetId");
+
+            ChromeOptions attach = new ChromeOptions();
+            attach.setExperimentalOption("debuggerAddress", debuggerAddress);
+            driver = new ChromeDriver(attach);
+
+            String tid = targetId;
+            String handle = driver.getWindowHandles().stream()
+                    .filter(h -> h.equals(tid) || h.endsWith(tid))
+                    .findFirst().orElseThrow(() -> new WebDriverException("no window handle for target " + tid));
+            driver.switchTo().window(handle);
+            return new BrowserContext(this, contextId, driver);
+        } catch (RuntimeException e) {
+            if (driver != null) try { driver.quit(); } catch (RuntimeException ignore) {}
+            disposeContext(contextId);
+            throw e;
+        }
+    }
+
+    /** Closes every page of the context and drops its cookies/storage. */
+    synchronized void disposeContext(String contextId) {
+        try { cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId)); }
+        catch (RuntimeException e) { System.err.println("[ChromeHost] dispose " + contextId + " failed: " + e.getMessage()); }
+    }
+
+    private static synchronized void shutdown() {
+        if (shared == null) return;
+        shared.cdp.close();
+        try { shared.host.quit(); } catch (Throwable ignore) {}
+        shared = null;
+    }
+}
@@ -0,0 +1,60 @@
+package qa.translink.pom.browser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Network/CPU conditions applied to a session through CDP (Network.emulateNetworkConditions + Emulation.setCPUThrottlingRate).
+ * Throughputs are in kbit/s; -1 means unthrottled.
+ * <p>
+ * Loss is not emulated through CDP: the experimental {@code packetLoss} parameter only affects WebRTC traffic (and is
+ * rejected by older Chrome builds), so page loads and XHRs would never see it. Instead {@link #requestDropPct} is the
+ * share of HTTP requests the perf lab's local site drops without a response (see {@code perf.LocalSite}); it has no
+ * effect against the live site.
+ */
+public enum NetworkProfile {
+    NONE(0, -1, -1, 0, 1),
+    FAST_3G(150, 1_600, 750, 0, 4),
+    SLOW_3G(400, 400, 400, 0, 6),
+    HIGH_LATENCY(1_000, 10_000, 5_000, 0, 1),
+    LOSSY(100, 5_000, 2_000, 5, 2);
+
+    public final int latencyMs;
+    public final int downKbps;
+    public final int upKbps;
+    public final int requestDropPct;
+    public final double cpuSlowdown;
+
+    NetworkProfile(int latencyMs, int downKbps, int upKbps, int requestDropPct, double cpuSlowdown) {
+        this.latencyMs = latencyMs;
+        this.downKbps = downKbps;
+        this.upKbps = upKbps;
+        this.requestDropPct = requestDropPct;
+        this.cpuSlowdown = cpuSlowdown;
+    }
+
+    /** "slow3g", "SLOW_3G", "high-latency" … */
+    public static NetworkProfile parse(String name) {
+        String n = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (NetworkProfile p : values()) {
+            if (p.name().equals(n) || p.name().replace("_", "").equals(n.replace("_", ""))) return p;
+        }
+        throw new IllegalArgumentException("unknown network profile: " + name);
+    }
+
+    public void apply(WebDriver d) {
+        if (!(d instanceof HasCdp cdp)) throw new IllegalStateException("network emulation needs a Chromium driver");
+        Map<String, Object> net = new HashMap<>();
+        net.put("offline", false);
+        net.put("latency", latencyMs);
+        net.put("downloadThroughput", downKbps < 0 ? -1 : downKbps * 1000 / 8);
+        net.put("uploadThroughput", upKbps < 0 ? -1 : upKbps * 1000 / 8);
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.emulateNetworkConditions", net);
+        cdp.executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", cpuSlowdown));
+    }
+}
@@ -0,0 +1,41 @@
+package qa.translink.pom.browser;
+
+import java.util.Optional;
+
+/**
+ * When a long-lived session should be restarted: JS heap, DOM node count or uptime past a threshold.
+ * Thresholds: -DRECYCLE_HEAP_MB (default 512), -DRECYCLE_NODES (default 50000), -DRECYCLE_UPTIME_MIN (default 30).
+ */
+public final class RecyclePolicy {
+
+    private final long heapBytes;
+    private final long nodes;
+    private final long uptimeMillis;
+
+    public RecyclePolicy(long heapMb, long nodes, long uptimeMin) {
+        this.heapBytes = heapMb * 1024 * 1024;
+        this.nodes = nodes;
+        this.uptimeMillis = uptimeMin * 60_000;
+    }
+
+    public static RecyclePolicy fromSystemProperties() {
+        return new RecyclePolicy(
+                Long.getLong("RECYCLE_HEAP_MB", 512),
+                Long.getLong("RECYCLE_NODES", 50_000),
+                Long.getLong("RECYCLE_UPTIME_MIN", 30));
+    }
+
+    /** Reason to recycle, or empty to keep the session. */
+    public Optional<String> check(SessionTelemetry session, SessionTelemetry.Sample latest) {
+        if (latest != null) {
+            double heap = latest.get("JSHeapUsedSize");
+            if (heap > heapBytes) return Optional.of(String.format("JS heap %.0f MB > %d MB", heap / 1048576, heapBytes / 1048576));
+            double n = latest.get("Nodes");
+            if (n > nodes) return Optional.of(String.format("%.0f DOM nodes > %d", n, nodes));
+        }
+        if (session.uptimeMillis() > uptimeMillis) {
+            return Optional.of("uptime " + session.uptimeMillis() / 60_000 + " min > " + uptimeMillis / 60_000 + " min");
+        }
+        return Optional.empty();
+    }
+}
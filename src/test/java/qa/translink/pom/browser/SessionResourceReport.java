@@ -0,0 +1,79 @@
+package qa.translink.pom.browser;
+
+import qa.translink.pom.io.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/** Per-session resource graphs (inline SVG, no external assets) for every {@link SessionTelemetry} of the run. */
+public final class SessionResourceReport {
+
+    private SessionResourceReport() {}
+
+    private static final List<String[]> CHARTS = List.of(
+            new String[]{"JSHeapUsedSize", "JS heap used (MB)"},
+            new String[]{"Nodes", "DOM nodes"},
+            new String[]{"JSEventListeners", "JS event listeners"});
+
+    /** Writes the report to -DRESOURCE_REPORT (default target/session-resources.html); null when nothing was sampled. */
+    public static Path write() {
+        List<SessionTelemetry> sessions = SessionTelemetry.all().stream().filter(s -> !s.samples().isEmpty()).toList();
+        if (sessions.isEmpty()) return null;
+        Path out = Path.of(System.getProperty("RESOURCE_REPORT", "target/session-resources.html"));
+
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><meta charset='utf-8'><title>Session resources</title>")
+                .append("<style>body{font:13px sans-serif}td,th{padding:2px 8px;text-align:right}svg{border:1px solid #ccc;margin-right:8px}</style>")
+                .append("</head><body><h1>Browser session resources</h1>");
+        for (SessionTelemetry s : sessions) {
+            List<SessionTelemetry.Sample> samples = s.samples();
+            html.append("<h2>").append(esc(s.id())).append("</h2>");
+            if (s.recycledBecause() != null) html.append("<p>Recycled: ").append(esc(s.recycledBecause())).append("</p>");
+            for (String[] c : CHARTS) html.append(chart(samples, c[0], c[1]));
+            html.append("<table><tr><th>test</th>");
+            for (String m : SessionTelemetry.METRICS) html.append("<th>").append(m).append(m.startsWith("JSHeap") ? " (MB)" : "").append("</th>");
+            html.append("</tr>");
+            for (SessionTelemetry.Sample smp : samples) {
+                html.append("<tr><td>").append(esc(smp.test())).append("</td>");
+                for (String m : SessionTelemetry.METRICS) html.append("<td>").append(fmt(m, smp.get(m))).append("</td>");
+                html.append("</tr>");
+            }
+            html.append("</table>");
+        }
+        html.append("</body></html>");
+
+        try {
+            return AtomicFiles.writeString(out, html);
+        } catch (IOException e) {
+            System.err.println("[SessionResourceReport] cannot write " + out + ": " + e);
+            return null;
+        }
+    }
+
+    private static String chart(List<SessionTelemetry.Sample> samples, String metric, String title) {
+        int w = 320, h = 90, pad = 4;
+        double peak = samples.stream().mapToDouble(x -> x.get(metric)).max().orElse(0);
+        double max = peak > 0 ? peak : 1;
+        StringBuilder pts = new StringBuilder();
+        for (int i = 0; i < samples.size(); i++) {
+            double x = pad + (samples.size() == 1 ? 0 : (w - 2.0 * pad) * i / (samples.size() - 1));
+            double y = h - pad - (h - 2.0 * pad) * samples.get(i).get(metric) / max;
+            pts.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+        }
+        return String.format(Locale.ROOT,
+                "<svg width='%d' height='%d'><title>%s</title><text x='4' y='12'>%s (max %s)</text>" +
+                        "<polyline fill='none' stroke='#1f6feb' stroke-width='2' points='%s'/></svg>",
+                w, h, title, title, fmt(metric, peak), pts.toString().trim());
+    }
+
+    private static String fmt(String metric, double v) {
+        if (metric.startsWith("JSHeap")) return String.format(Locale.ROOT, "%.1f", v / 1048576);
+        if (metric.equals("TaskDuration")) return String.format(Locale.ROOT, "%.2fs", v);
+        return String.format(Locale.ROOT, "%.0f", v);
+    }
+
+    private static String esc(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,81 @@
+package qa.translink.pom.browser;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.*;
+
+/**
+ * Resource samples of one browser session (CDP Performance.getMetrics + performance.memory), taken after each test.
+ * All sessions of the run stay registered for {@link SessionResourceReport}.
+ */
+public final class SessionTelemetry {
+
+    /** CDP metric names kept per sample; the JS heap pair is also cross-checked against performance.memory. */
+    static final List<String> METRICS = List.of(
+            "JSHeapUsedSize", "JSHeapTotalSize", "Nodes", "Documents", "JSEventListeners", "LayoutCount", "TaskDuration");
+
+    public record Sample(long atMillis, String test, Map<String, Double> values) {
+        public double get(String metric) { return values.getOrDefault(metric, 0d); }
+    }
+
+    private static final List<SessionTelemetry> all = new ArrayList<>();
+
+    private final String id;
+    private final long startedAt = System.currentTimeMillis();
+    private final List<Sample> samples = new ArrayList<>();
+    private String recycledBecause;
+
+    private SessionTelemetry(String id) {
+        this.id = id;
+    }
+
+    public static synchronized SessionTelemetry start(String owner) {
+        SessionTelemetry t = new SessionTelemetry(owner + " #" + (all.stream().filter(s -> s.id.startsWith(owner + " #")).count() + 1));
+        all.add(t);
+        return t;
+    }
+
+    static synchronized List<SessionTelemetry> all() { return List.copyOf(all); }
+
+    public String id() { return id; }
+
+    public long uptimeMillis() { return System.currentTimeMillis() - startedAt; }
+
+    public synchronized List<Sample> samples() { return List.copyOf(samples); }
+
+    public String recycledBecause() { return recycledBecause; }
+
+    public void markRecycled(String reason) { this.recycledBecause = reason; }
+
+    /** Take one sample; empty when the driver exposes neither CDP nor JS (the session is probably gone). */
+    @SuppressWarnings("unchecked")
+    public Optional<Sample> sample(WebDriver d, String test) {
+        Map<String, Double> v = new LinkedHashMap<>();
+        if (d instanceof HasCdp cdp) {
+            try {
+                cdp.executeCdpCommand("Performance.enable", Map.of());
+                Object metrics = cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+                for (Map<String, Object> m : (List<Map<String, Object>>) metrics) {
+                    String name = (String) m.get("name");
+                    if (METRICS.contains(name)) v.put(name, ((Number) m.get("value")).doubleValue());
+                }
+            } catch (RuntimeException ignore) {}
+        }
+        if (!v.containsKey("JSHeapUsedSize") && d instanceof JavascriptExecutor js) {
+            try {
+                Map<String, Object> mem = (Map<String, Object>) js.executeScript(
+                        "const m = performance.memory; return m ? {used: m.usedJSHeapSize, total: m.totalJSHeapSize} : null;");
+                if (mem != null) {
+                    v.put("JSHeapUsedSize", ((Number) mem.get("used")).doubleValue());
+                    v.put("JSHeapTotalSize", ((Number) mem.get("total")).doubleValue());
+                }
+            } catch (RuntimeException ignore) {}
+        }
+        if (v.isEmpty()) return Optional.empty();
+        Sample s = new Sample(System.currentTimeMillis(), test, v);
+        synchronized (this) { samples.add(s); }
+        return Optional.of(s);
+    }
+}
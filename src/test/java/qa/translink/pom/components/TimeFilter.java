@@ -3,6 +3,7 @@ package qa.translink.pom.components;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.Select;
 import qa.translink.pom.pages.BasePage;
+import qa.translink.pom.pages.RetryPolicy;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -34,7 +35,7 @@ public class TimeFilter extends BasePage {
 
     // ===== internals =====
     private WebElement findDateInputOrThrow() {
-        return retry(12, () -> {
+        return retry("timefilter.dateInput", 12, () -> {
             java.util.List<By> locs = java.util.Arrays.asList(
                     By.cssSelector("input[type='date']"),
                     By.xpath("//input[contains(translate(@id,'DATE','date'),'date')]")
@@ -65,7 +66,7 @@ public class TimeFilter extends BasePage {
 
         if ("date".equals(type)) {
             setValueWithEvents(input, ymd);
-            retry(4, () -> {
+            retry("timefilter.dateNative", 4, () -> {
                 String v = input.getAttribute("value") == null ? "" : input.getAttribute("value");
                 if (!ymd.equals(v)) throw new RuntimeException("date not applied(native): " + v);
                 return Boolean.TRUE;
@@ -82,17 +83,17 @@ public class TimeFilter extends BasePage {
         input.sendKeys(Keys.chord(Keys.CONTROL, "a"), Keys.DELETE, mmddyyyy);
         js("arguments[0].dispatchEvent(new Event('input',{bubbles:true})); arguments[0].dispatchEvent(new Event('change',{bubbles:true})); arguments[0].blur();", input);
         try {
-            retry(2, () -> {
+            retry("timefilter.dateTyped", 2, () -> {
                 String v = input.getAttribute("value") == null ? "" : input.getAttribute("value");
                 if (!mmddyyyy.equals(v)) throw new RuntimeException("date not applied(typed): " + v);
                 return Boolean.TRUE;
             });
             return;
-        } catch (RuntimeException ignored) {}
+        } catch (RuntimeException e) { RetryPolicy.rethrowIfTerminal(e); }
 
         openCalendarFor(input);
         clickDayInAnyDatepicker(date);
-        retry(4, () -> {
+        retry("timefilter.dateCalendar", 4, () -> {
             String v = input.getAttribute("value") == null ? "" : input.getAttribute("value");
             if (!(ymd.equals(v) || mmddyyyy.equals(v) || ddmmyyyy.equals(v))) {
                 throw new RuntimeException("date not reflected: " + v);
@@ -104,13 +105,13 @@ public class TimeFilter extends BasePage {
     private boolean tryApplyMasked(WebElement input, String val) {
         setValueWithEvents(input, val);
         try {
-            retry(2, () -> {
+            retry("timefilter.dateMasked", 2, () -> {
                 String v = input.getAttribute("value") == null ? "" : input.getAttribute("value");
                 if (!val.equals(v)) throw new RuntimeException("not applied: " + v);
                 return Boolean.TRUE;
             });
             return true;
-        } catch (RuntimeException ignore) { return false; }
+        } catch (RuntimeException e) { RetryPolicy.rethrowIfTerminal(e); return false; }
     }
 
     private void setTimeUniversal(LocalTime t, boolean isStart) {
@@ -160,12 +161,13 @@ public class TimeFilter extends BasePage {
         js("arguments[0].scrollIntoView({block:'center'}); arguments[0].focus();", el);
         setValueWithEvents(el, hhmm);
         try {
-            retry(2, () -> {
+            retry("timefilter.time", 2, () -> {
                 String v = el.getAttribute("value") == null ? "" : el.getAttribute("value");
                 if (!hhmm.equals(v)) throw new RuntimeException("time not applied");
                 return Boolean.TRUE;
             });
         } catch (RuntimeException ex) {
+            RetryPolicy.rethrowIfTerminal(ex);
             el.sendKeys(Keys.chord(Keys.CONTROL, "a"), Keys.DELETE, hhmm);
             js("arguments[0].dispatchEvent(new Event('input',{bubbles:true})); arguments[0].dispatchEvent(new Event('change',{bubbles:true})); arguments[0].blur();", el);
         }
@@ -186,24 +188,24 @@ public class TimeFilter extends BasePage {
     }
 
     private void clickByAnyText(String[] variants) {
-        for (String v : variants) {
-            WebElement el = findByAnyText(v, "button", 4);
-            if (el != null) { tryClick(el); return; }
-        }
-        throw new NoSuchElementException("none of texts found: " + java.util.Arrays.toString(variants));
+        WebElement el = findByAnyText(variants, "button", 4);
+        if (el == null) throw new NoSuchElementException("none of texts found: " + java.util.Arrays.toString(variants));
+        tryClick(el);
     }
 
-    private WebElement findByAnyText(String text, String tag, int timeoutSec) {
+    /** Every poll checks all variants in order, so the lookup costs one timeout however many variants there are. */
+    private WebElement findByAnyText(String[] variants, String tag, int timeoutSec) {
         try {
-            return retry(timeoutSec, () -> {
-                String xp = "//" + tag + "[normalize-space()='" + text + "'] | " +
-                        "//" + tag + "[contains(translate(.,'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'" +
-                        text.toLowerCase() + "')]";
-                return d.findElements(By.xpath(xp)).stream()
-                        .filter(WebElement::isDisplayed)
-                        .findFirst()
-                        .orElseThrow(() -> new NoSuchElementException("no element: " + text));
+            return retry("timefilter.button", timeoutSec, () -> {
+                for (String text : variants) {
+                    String xp = "//" + tag + "[normalize-space()='" + text + "'] | " +
+                            "//" + tag + "[contains(translate(.,'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'" +
+                            text.toLowerCase() + "')]";
+                    Optional<WebElement> hit = d.findElements(By.xpath(xp)).stream().filter(WebElement::isDisplayed).findFirst();
+                    if (hit.isPresent()) return hit.get();
+                }
+                throw new NoSuchElementException("no element: " + java.util.Arrays.toString(variants));
             });
-        } catch (RuntimeException e) { return null; }
+        } catch (RuntimeException e) { RetryPolicy.rethrowIfTerminal(e); return null; }
     }
 }
@@ -0,0 +1,60 @@
+package qa.translink.pom.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Properties;
+
+/**
+ * Replace-on-write for caches and reports: content goes to a sibling ".tmp" file which is then moved over the
+ * target, so a crash or a concurrent reader never sees a half-written file. Parent directories are created.
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {}
+
+    @FunctionalInterface
+    private interface Body {
+        void writeTo(Path tmp) throws IOException;
+    }
+
+    public static Path write(Path target, byte[] bytes) throws IOException {
+        return replace(target, tmp -> Files.write(tmp, bytes));
+    }
+
+    public static Path writeString(Path target, CharSequence text) throws IOException {
+        return replace(target, tmp -> Files.writeString(tmp, text, StandardCharsets.UTF_8));
+    }
+
+    public static Path writeLines(Path target, Iterable<? extends CharSequence> lines) throws IOException {
+        return replace(target, tmp -> Files.write(tmp, lines, StandardCharsets.UTF_8));
+    }
+
+    public static Path writeProperties(Path target, Properties p, String comment) throws IOException {
+        return replace(target, tmp -> {
+            try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                p.store(w, comment);
+            }
+        });
+    }
+
+    // ===== internals =====
+
+    private static Path replace(Path target, Body body) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            body.writeTo(tmp);
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return target;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package qa.translink.pom.io;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+public class AtomicFilesTest {
+
+    @Test
+    public void creates_parents_replaces_target_and_leaves_no_tmp() throws Exception {
+        Path file = Files.createTempDirectory("af").resolve("a/b/report.txt");
+        AtomicFiles.writeString(file, "first");
+        AtomicFiles.writeLines(file, List.of("second", "third"));
+
+        Assert.assertEquals(Files.readAllLines(file), List.of("second", "third"));
+        Assert.assertFalse(Files.exists(file.resolveSibling("report.txt.tmp")));
+    }
+
+    @Test
+    public void properties_round_trip() throws Exception {
+        Path file = Files.createTempDirectory("af").resolve("cache.properties");
+        Properties p = new Properties();
+        p.setProperty("route.link", "120,140");
+        AtomicFiles.writeProperties(file, p, "comment");
+
+        Properties back = new Properties();
+        try (var r = Files.newBufferedReader(file)) { back.load(r); }
+        Assert.assertEquals(back, p);
+    }
+}
@@ -3,6 +3,9 @@ package qa.translink.pom.pages;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import qa.translink.pom.timing.Deadline;
+import qa.translink.pom.timing.TimedWait;
+import qa.translink.pom.timing.TimingProfile;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -19,33 +22,76 @@ public abstract class BasePage {
         this.wait = wait;
     }
 
+    /** Site root; -DBASE_URL points the flow at a local mirror. */
+    protected static String baseUrl() {
+        return System.getProperty("BASE_URL", "https://www.translink.ca").replaceAll("/+$", "");
+    }
+
     protected Object js(String script, Object... args) {
         return ((JavascriptExecutor) d).executeScript(script, args);
     }
 
+    /** Explicit wait recorded under its own name in the {@link TimingProfile}, so each call site is tuned separately. */
+    protected WebDriverWait waitFor(String name) {
+        return new TimedWait(d, name, Duration.ofSeconds(30), Duration.ofMillis(250));
+    }
+
     protected void tryClick(WebElement el) {
-        wait.until(ExpectedConditions.elementToBeClickable(el)).click();
+        waitFor("click").until(ExpectedConditions.elementToBeClickable(el)).click();
     }
 
     protected <T> T retry(int timeoutSec, Supplier<T> fn) {
-        long end = System.currentTimeMillis() + timeoutSec * 1000L;
+        return retry(null, timeoutSec, fn);
+    }
+
+    /**
+     * Named retry: timeout and poll interval come from the {@link TimingProfile}, successes are recorded in it.
+     * Only transient errors are retried; terminal ones (see {@link RetryPolicy}) are rethrown at once.
+     */
+    protected <T> T retry(String name, int timeoutSec, Supplier<T> fn) {
+        return retry(name, timeoutSec, Duration.ZERO, fn);
+    }
+
+    /** As {@link #retry(String, int, Supplier)}, but the tuned poll never drops below {@code minPoll}. */
+    protected <T> T retry(String name, int timeoutSec, Duration minPoll, Supplier<T> fn) {
+        long pollMs = TimingProfile.poll(name, Duration.ofMillis(200), minPoll).toMillis();
+        Deadline deadline = new Deadline(name, Duration.ofSeconds(timeoutSec));
         RuntimeException last = null;
-        while (System.currentTimeMillis() < end) {
-            try { return fn.get(); }
-            catch (RuntimeException e) { last = e; try { Thread.sleep(200);} catch (InterruptedException ignored) {} }
+        while (deadline.pending()) {
+            try {
+                T v = fn.get();
+                deadline.succeeded();
+                return v;
+            }
+            catch (RuntimeException e) {
+                RetryPolicy.rethrowIfTerminal(e);
+                last = e;
+                try { Thread.sleep(pollMs);} catch (InterruptedException ignored) {}
+            }
         }
+        deadline.timedOut();
         throw (last != null ? last : new RuntimeException("timeout"));
     }
 
+    protected void requireUrlContains(String fragment) {
+        String url = d.getCurrentUrl();
+        if (url == null || !url.contains(fragment)) throw new WrongPageException("expected '" + fragment + "' in URL, got " + url);
+    }
+
 
     protected void waitMainContentRefresh() {
         String before = (String) js("return document.querySelector('main')?.innerText || '';");
-        long end = System.currentTimeMillis() + 6000L;
-        while (System.currentTimeMillis() < end) {
+        long pollMs = TimingProfile.poll("main.refresh", Duration.ofMillis(200)).toMillis();
+        Deadline deadline = new Deadline("main.refresh", Duration.ofSeconds(6));
+        while (deadline.pending()) {
             String after = (String) js("return document.querySelector('main')?.innerText || '';");
-            if (Math.abs(after.length() - before.length()) > 50 || !after.equals(before)) return;
-            try { Thread.sleep(200);} catch (InterruptedException ignored) {}
+            if (Math.abs(after.length() - before.length()) > 50 || !after.equals(before)) {
+                deadline.succeeded();
+                return;
+            }
+            try { Thread.sleep(pollMs);} catch (InterruptedException ignored) {}
         }
+        deadline.timedOut();
     }
 
     protected void setValueWithEvents(WebElement el, String value) {
@@ -77,7 +123,7 @@ public abstract class BasePage {
             if (next.isEmpty()) break;
             tryClick(next.get(0));
         }
-        WebElement day = retry(4, () -> d.findElement(dayBtn));
+        WebElement day = retry("datepicker.day", 4, () -> d.findElement(dayBtn));
         tryClick(day);
     }
 }
@@ -1,9 +1,11 @@
 package qa.translink.pom.pages;
 
 import org.openqa.selenium.*;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.regex.Pattern;
 
 public class BusSchedulesPage extends BasePage {
 
@@ -19,12 +21,105 @@ public class BusSchedulesPage extends BasePage {
     }
 
     public RoutePage openRouteExact(String linkTextExact) {
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.linkText(linkTextExact))).click();
+        waitFor("schedules.routeLink").until(ExpectedConditions.presenceOfElementLocated(By.linkText(linkTextExact))).click();
         return new RoutePage(d, wait);
     }
 
+    /**
+     * Open a route by query ("99" or "#99 - UBC B-Line") via the cached URL, resolving it first if needed.
+     * A URL that no longer lands on a route page (404, redirect elsewhere) is dropped from the cache and resolved once more.
+     */
+    public RoutePage openRoute(String query) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            String url = resolveRouteUrls(List.of(query)).get(query);
+            if (url == null) break;
+            d.navigate().to(url);
+            if (onRoutePage()) return new RoutePage(d, wait);
+            System.err.println("[BusSchedulesPage] route URL for '" + query + "' is stale: " + url + " -> " + d.getCurrentUrl());
+            RouteUrlCache.remove(cacheKey(query));
+            d.navigate().to(baseUrl() + "/schedules-and-maps/bus-schedules");
+        }
+        throw new NoSuchElementException("route not found: " + query);
+    }
+
+    /**
+     * Resolve many route queries to route page URLs. Cached queries cost nothing; the rest are matched against one
+     * read of every route link the page already renders, and only queries still missing go through the search UI
+     * (one search + one read each). Unresolvable queries are absent from the result.
+     */
+    public Map<String, String> resolveRouteUrls(List<String> queries) {
+        Map<String, String> out = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String q : queries) {
+            Optional<String> hit = RouteUrlCache.get(cacheKey(q));
+            if (hit.isPresent()) out.put(q, hit.get()); else missing.add(q);
+        }
+        if (missing.isEmpty()) return out;
+
+        Map<String, String> fresh = new LinkedHashMap<>();
+        Map<String, String> links = routeLinks();
+        for (Iterator<String> it = missing.iterator(); it.hasNext(); ) {
+            String q = it.next();
+            String url = match(q, links);
+            if (url != null) { fresh.put(q, url); it.remove(); }
+        }
+        for (String q : missing) {
+            try {
+                searchRoute(q);
+                fresh.put(q, retry("schedules.results", 10, () -> Optional.ofNullable(match(q, routeLinks()))
+                        .orElseThrow(() -> new NoSuchElementException("no result for route: " + q))));
+            } catch (RuntimeException e) {
+                RetryPolicy.rethrowIfTerminal(e);
+                System.err.println("[BusSchedulesPage] cannot resolve route '" + q + "': " + e.getMessage());
+            }
+        }
+
+        Map<String, String> toCache = new HashMap<>();
+        fresh.forEach((q, url) -> toCache.put(cacheKey(q), url));
+        RouteUrlCache.putAll(toCache);
+        out.putAll(fresh);
+        return out;
+    }
+
+    private static String cacheKey(String query) {
+        return baseUrl() + "|" + query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Landed on a route page that loaded without an HTTP error (status 0 = not reported by this Chrome). */
+    private boolean onRoutePage() {
+        String url = d.getCurrentUrl();
+        if (url == null || !url.contains("/schedules-and-maps/route/")) return false;
+        Object status = js("const n = performance.getEntriesByType('navigation')[0]; return n && n.responseStatus ? n.responseStatus : 0;");
+        return !(status instanceof Number n) || n.intValue() < 400;
+    }
+
+    /** Link text → absolute href of every route link currently in the DOM, in one script call. */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> routeLinks() {
+        List<List<String>> raw = (List<List<String>>) js(
+                "return Array.from(document.querySelectorAll(\"a[href*='/schedules-and-maps/route/']\"))" +
+                        ".map(a => [(a.textContent || '').replace(/\\s+/g,' ').trim(), a.href]);");
+        Map<String, String> links = new LinkedHashMap<>();
+        if (raw != null) for (List<String> l : raw) links.putIfAbsent(l.get(0), l.get(1));
+        return links;
+    }
+
+    /** Exact link text first, then the route number ("99" matches "#99 - UBC B-Line"). */
+    static String match(String query, Map<String, String> links) {
+        String q = query.trim();
+        for (Map.Entry<String, String> e : links.entrySet()) {
+            if (e.getKey().equalsIgnoreCase(q)) return e.getValue();
+        }
+        Pattern byNumber = Pattern.compile("^#?" + Pattern.quote(q.replaceFirst("^#", "")) + "(\\s|-|$)", Pattern.CASE_INSENSITIVE);
+        for (Map.Entry<String, String> e : links.entrySet()) {
+            if (byNumber.matcher(e.getKey()).find()) return e.getValue();
+        }
+        return null;
+    }
+
     private WebElement findSearchBox() {
-        return retry(10, () -> {
+        return retry("schedules.searchbox", 10, () -> {
+            requireUrlContains("/schedules-and-maps");
             Optional<WebElement> hit = d.findElements(By.id("find-schedule-searchbox"))
                     .stream().filter(WebElement::isDisplayed).findFirst();
             if (hit.isPresent()) return hit.get();
@@ -35,12 +130,13 @@ public class BusSchedulesPage extends BasePage {
     private boolean clickFindScheduleIfPresent() {
         try {
             By withinForm = By.xpath("//button[@class='flexContainer']");
-            WebElement btn = retry(3, () -> d.findElements(withinForm).stream()
+            WebElement btn = retry("schedules.findButton", 3, () -> d.findElements(withinForm).stream()
                     .filter(e -> e.isDisplayed() && e.getText().toLowerCase().contains("find"))
                     .findFirst().orElseThrow(() -> new NoSuchElementException("no btn")));
             tryClick(btn);
             return true;
         } catch (RuntimeException ex) {
+            RetryPolicy.rethrowIfTerminal(ex);
             return false;
         }
     }
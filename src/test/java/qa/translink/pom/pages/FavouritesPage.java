@@ -9,7 +9,7 @@ public class FavouritesPage extends BasePage {
     }
 
     public void assertFavouriteVisible(String favName) {
-        wait.until(ExpectedConditions.presenceOfElementLocated(
+        waitFor("favourites.item").until(ExpectedConditions.presenceOfElementLocated(
                 By.xpath("//*[contains(normalize-space(.), \"" + favName + "\")]")
         ));
         if (!d.getPageSource().toLowerCase().contains(favName.toLowerCase()))
@@ -11,27 +11,27 @@ public class HomePage extends BasePage {
     }
 
     public HomePage open() {
-        d.navigate().to("https://www.translink.ca/");
+        d.navigate().to(baseUrl() + "/");
         return this;
     }
 
 
     public BusSchedulesPage openBusSchedules() {
         try {
-            WebElement sched = wait.until(ExpectedConditions.presenceOfElementLocated(
+            WebElement sched = waitFor("home.schedulesLink").until(ExpectedConditions.presenceOfElementLocated(
                     By.cssSelector("header a[href*='/schedules-and-maps']")));
             js("arguments[0].scrollIntoView({block:'center'});", sched);
 
-            WebElement bus = wait.until(ExpectedConditions.presenceOfElementLocated(
+            WebElement bus = waitFor("home.busSchedulesLink").until(ExpectedConditions.presenceOfElementLocated(
                     By.cssSelector("a[href*='/schedules-and-maps/bus-schedules']")));
             js("arguments[0].scrollIntoView({block:'center'});", bus);
             try { tryClick(bus); } catch (ElementClickInterceptedException e) { js("arguments[0].click();", bus); }
         } catch (TimeoutException e) {
-            d.navigate().to("https://www.translink.ca/schedules-and-maps/bus-schedules");
+            d.navigate().to(baseUrl() + "/schedules-and-maps/bus-schedules");
         }
 
-        wait.until(ExpectedConditions.urlContains("/schedules-and-maps"));
-        wait.until(ExpectedConditions.or(
+        waitFor("home.busSchedulesUrl").until(ExpectedConditions.urlContains("/schedules-and-maps"));
+        waitFor("home.busSchedulesPage").until(ExpectedConditions.or(
                 ExpectedConditions.presenceOfElementLocated(By.xpath("//main//h1[contains(.,'Schedules') and contains(.,'Bus')]")),
                 ExpectedConditions.presenceOfElementLocated(By.xpath("//a[contains(@href,'bus-schedules')]"))
         ));
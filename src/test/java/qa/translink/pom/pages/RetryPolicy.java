@@ -0,0 +1,41 @@
+package qa.translink.pom.pages;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits driver errors into transient ones (stale element, click intercepted, element not there yet — worth
+ * another poll) and terminal ones (window/session gone, browser unreachable, bad selector, wrong page) that
+ * must fail the step immediately instead of burning the rest of the timeout.
+ */
+public final class RetryPolicy {
+
+    private RetryPolicy() {}
+
+    private static final List<String> TERMINAL_MESSAGES = List.of(
+            "session deleted", "invalid session id", "no such window", "target window already closed",
+            "chrome not reachable", "disconnected: not connected to devtools");
+
+    public static boolean isTerminal(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof NoSuchWindowException
+                    || t instanceof NoSuchSessionException
+                    || t instanceof SessionNotCreatedException
+                    || t instanceof UnreachableBrowserException
+                    || t instanceof InvalidSelectorException
+                    || t instanceof WrongPageException) return true;
+            String msg = t.getMessage() == null ? "" : t.getMessage().toLowerCase(Locale.ROOT);
+            for (String m : TERMINAL_MESSAGES) if (msg.contains(m)) return true;
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+
+    /** Rethrow terminal errors from a fallback chain that otherwise swallows failures. */
+    public static void rethrowIfTerminal(RuntimeException e) {
+        if (isTerminal(e)) throw e;
+    }
+}
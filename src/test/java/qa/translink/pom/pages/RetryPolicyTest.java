@@ -0,0 +1,39 @@
+package qa.translink.pom.pages;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void transient_errors_are_retried() {
+        Assert.assertFalse(RetryPolicy.isTerminal(new StaleElementReferenceException("stale element reference")));
+        Assert.assertFalse(RetryPolicy.isTerminal(new ElementClickInterceptedException("other element would receive the click")));
+        Assert.assertFalse(RetryPolicy.isTerminal(new NoSuchElementException("no such element")));
+        Assert.assertFalse(RetryPolicy.isTerminal(new TimeoutException("timed out")));
+    }
+
+    @Test
+    public void lost_session_and_wrong_page_are_terminal() {
+        Assert.assertTrue(RetryPolicy.isTerminal(new NoSuchWindowException("window gone")));
+        Assert.assertTrue(RetryPolicy.isTerminal(new NoSuchSessionException("invalid session id")));
+        Assert.assertTrue(RetryPolicy.isTerminal(new UnreachableBrowserException("connection refused")));
+        Assert.assertTrue(RetryPolicy.isTerminal(new WrongPageException("expected '/schedules-and-maps' in URL")));
+        Assert.assertTrue(RetryPolicy.isTerminal(new WebDriverException("disconnected: not connected to DevTools")));
+    }
+
+    @Test
+    public void invalid_selector_is_terminal() {
+        Assert.assertTrue(RetryPolicy.isTerminal(new InvalidSelectorException("invalid selector: //a[")));
+    }
+
+    @Test
+    public void terminal_cause_is_found_through_wrappers() {
+        RuntimeException wrapped = new RuntimeException("step failed", new WebDriverException("x", new NoSuchWindowException("closed")));
+        Assert.assertTrue(RetryPolicy.isTerminal(wrapped));
+        Assert.assertThrows(RuntimeException.class, () -> RetryPolicy.rethrowIfTerminal(wrapped));
+        RetryPolicy.rethrowIfTerminal(new StaleElementReferenceException("stale")); // transient: no throw
+    }
+}
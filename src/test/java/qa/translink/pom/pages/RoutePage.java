@@ -2,12 +2,20 @@ package qa.translink.pom.pages;
 
 import org.openqa.selenium.*;
 import qa.translink.pom.components.TimeFilter;
+import qa.translink.pom.timetable.Timetable;
+import qa.translink.pom.timetable.TimetableStore;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
 
 public class RoutePage extends BasePage {
 
+    /** Each poll of the link scans reads getText() of every visible anchor (one round trip each); don't hammer it. */
+    private static final Duration LINK_SCAN_MIN_POLL = Duration.ofMillis(200);
+
     public RoutePage(WebDriver d, org.openqa.selenium.support.ui.WebDriverWait wait) {
         super(d, wait);
     }
@@ -18,13 +26,51 @@ public class RoutePage extends BasePage {
                 .setStart(start)
                 .setEnd(end)
                 .submit();
+        TimetableStore.configured().ifPresent(store -> {
+            // export is a side channel: a capture problem must not fail the functional flow
+            try {
+                waitTimetableRendered();
+                store.record(Timetable.capture(d, routeKey(), date, start, end));
+            }
+            catch (RuntimeException e) { System.err.println("[Timetable] capture failed: " + e); }
+        });
+    }
+
+    /**
+     * submit() returns on the first content change, which may be a loading state. Wait until stop rows with stop
+     * times are present and unchanged between two polls, so the capture is the filtered table, not a half-rendered one.
+     */
+    private void waitTimetableRendered() {
+        String[] last = {null};
+        retry("timetable.rows", 10, () -> {
+            String sig = (String) js("""
+                let rows = 0, cells = 0, sum = 0;
+                for (const tr of document.querySelectorAll("tr")){
+                  if (!tr.querySelector("th a[href*='/schedules-and-maps/stop/']")) continue;
+                  let n = 0;
+                  for (const td of tr.querySelectorAll("td[data-stop-time]")){
+                    const v = td.getAttribute("data-stop-time");
+                    if (v && /^\\d+$/.test(v)) { n++; sum += parseInt(v, 10); }
+                  }
+                  if (n) { rows++; cells += n; }
+                }
+                return rows ? rows + ":" + cells + ":" + sum : null;
+            """);
+            boolean settled = sig != null && sig.equals(last[0]);
+            last[0] = sig;
+            if (!settled) throw new NoSuchElementException("timetable not rendered yet: " + sig);
+            return sig;
+        });
     }
 
     public void openStopByNumber(String stopNumber) {
-        WebElement link = retry(20, () -> d.findElements(By.tagName("a")).stream()
-                .filter(WebElement::isDisplayed)
-                .filter(a -> a.getText().toLowerCase().contains(stopNumber.toLowerCase()))
-                .findFirst().orElseThrow(() -> new NoSuchElementException("stop link: " + stopNumber)));
+        WebElement link = retry("route.stopLink", 20, LINK_SCAN_MIN_POLL, () -> {
+            requireUrlContains("/schedules-and-maps");
+            return d.findElements(By.tagName("a")).stream()
+                    .filter(WebElement::isDisplayed)
+                    .filter(a -> a.getText().toLowerCase().contains(stopNumber.toLowerCase()))
+                    .findFirst().orElseThrow(() -> new NoSuchElementException("stop link: " + stopNumber));
+        });
         js("arguments[0].scrollIntoView({block:'center'});", link);
         try { link.click(); } catch (ElementClickInterceptedException e) { js("arguments[0].click();", link); }
     }
@@ -42,16 +88,28 @@ public class RoutePage extends BasePage {
     }
 
     // internals
-    private void clickLinkByTextContainsAny(String... texts) {
-        for (String t : texts) { try { clickLinkByTextContains(t); return; } catch (RuntimeException ignored) {} }
-        throw new NoSuchElementException("none of variants present");
+    /** Route part of the URL, e.g. ".../route/99/direction/1/schedule" → "99/direction/1/schedule". */
+    private String routeKey() {
+        String url = d.getCurrentUrl();
+        int i = url == null ? -1 : url.indexOf("/route/");
+        if (i < 0) return "unknown";
+        String key = url.substring(i + "/route/".length()).replaceAll("[?#].*$", "");
+        return key.isEmpty() ? "unknown" : key;
     }
 
-    private void clickLinkByTextContains(String text) {
-        WebElement found = retry(20, () -> d.findElements(By.tagName("a")).stream()
-                .filter(WebElement::isDisplayed)
-                .filter(a -> a.getText().toLowerCase().contains(text.toLowerCase()))
-                .findFirst().orElseThrow(() -> new NoSuchElementException("link: " + text)));
+    /** All variants are checked in every poll (first variant wins), so a missing link costs one timeout, not one per variant. */
+    private void clickLinkByTextContainsAny(String... texts) {
+        WebElement found = retry("route.link", 20, LINK_SCAN_MIN_POLL, () -> {
+            requireUrlContains("/schedules-and-maps");
+            List<WebElement> links = d.findElements(By.tagName("a")).stream().filter(WebElement::isDisplayed).toList();
+            List<String> lower = links.stream().map(a -> a.getText().toLowerCase()).toList();
+            for (String t : texts) {
+                for (int i = 0; i < links.size(); i++) {
+                    if (lower.get(i).contains(t.toLowerCase())) return links.get(i);
+                }
+            }
+            throw new NoSuchElementException("none of variants present: " + Arrays.toString(texts));
+        });
         js("arguments[0].scrollIntoView({block: 'center'});", found);
         try { found.click(); } catch (ElementClickInterceptedException e) { js("arguments[0].click();", found); }
     }
@@ -0,0 +1,105 @@
+package qa.translink.pom.pages;
+
+import qa.translink.pom.io.AtomicFiles;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Route query → route page URL, shared by all page instances and expiring after -DROUTE_CACHE_TTL_MIN (default 1440).
+ * With -DROUTE_CACHE=path the mapping is persisted (expired entries are pruned on write), so later runs skip the
+ * search UI entirely. A URL that no longer leads to a route page is dropped with {@link #remove(String)}.
+ */
+final class RouteUrlCache {
+
+    private RouteUrlCache() {}
+
+    private record Entry(String url, long resolvedAt) {}
+
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static boolean loaded;
+
+    static Optional<String> get(String key) {
+        return get(key, System.currentTimeMillis());
+    }
+
+    static synchronized Optional<String> get(String key, long now) {
+        load();
+        Entry e = entries.get(key);
+        if (e == null) return Optional.empty();
+        if (now - e.resolvedAt() > ttlMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(e.url());
+    }
+
+    static void putAll(Map<String, String> resolved) {
+        putAll(resolved, System.currentTimeMillis());
+    }
+
+    static synchronized void putAll(Map<String, String> resolved, long now) {
+        if (resolved.isEmpty()) return;
+        load();
+        resolved.forEach((k, url) -> entries.put(k, new Entry(url, now)));
+        save(now);
+    }
+
+    static synchronized void remove(String key) {
+        load();
+        if (entries.remove(key) != null) save(System.currentTimeMillis());
+    }
+
+    /** Forget the in-memory state so the next call reloads -DROUTE_CACHE (tests). */
+    static synchronized void reset() {
+        entries.clear();
+        loaded = false;
+    }
+
+    // ===== internals =====
+
+    private static long ttlMillis() {
+        return Long.getLong("ROUTE_CACHE_TTL_MIN", 1440L) * 60_000;
+    }
+
+    private static Path file() {
+        String p = System.getProperty("ROUTE_CACHE");
+        return (p == null || p.isBlank()) ? null : Path.of(p);
+    }
+
+    private static void load() {
+        if (loaded) return;
+        loaded = true;
+        Path f = file();
+        if (f == null || !Files.isRegularFile(f)) return;
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(f, StandardCharsets.UTF_8)) {
+            p.load(r);
+        } catch (IOException e) {
+            System.err.println("[RouteUrlCache] cannot read " + f + ": " + e);
+            return;
+        }
+        for (String k : p.stringPropertyNames()) {
+            String[] v = p.getProperty(k).split("\\|", 2);
+            try { if (v.length == 2) entries.put(k, new Entry(v[1], Long.parseLong(v[0]))); }
+            catch (NumberFormatException ignored) {}
+        }
+    }
+
+    private static void save(long now) {
+        long ttl = ttlMillis();
+        entries.values().removeIf(e -> now - e.resolvedAt() > ttl);
+        Path f = file();
+        if (f == null) return;
+        Properties p = new Properties();
+        entries.forEach((k, e) -> p.setProperty(k, e.resolvedAt() + "|" + e.url()));
+        try {
+            AtomicFiles.writeProperties(f, p, "route query -> resolvedAtMillis|url");
+        } catch (IOException e) {
+            System.err.println("[RouteUrlCache] cannot write " + f + ": " + e);
+        }
+    }
+}
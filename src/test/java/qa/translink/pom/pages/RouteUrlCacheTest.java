@@ -0,0 +1,81 @@
+package qa.translink.pom.pages;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+public class RouteUrlCacheTest {
+
+    private static final long TTL = 1440L * 60_000; // default ROUTE_CACHE_TTL_MIN
+    private static final String B_LINE = "https://www.translink.ca/schedules-and-maps/route/99/direction/1/schedule";
+    private static final String ROUTE_9 = "https://www.translink.ca/schedules-and-maps/route/9/direction/1/schedule";
+
+    @BeforeMethod
+    @AfterMethod
+    public void clean() {
+        System.clearProperty("ROUTE_CACHE");
+        RouteUrlCache.reset();
+    }
+
+    @Test
+    public void entries_expire_after_ttl() {
+        RouteUrlCache.putAll(Map.of("k", B_LINE), 1_000);
+
+        Assert.assertEquals(RouteUrlCache.get("k", 1_000 + TTL), Optional.of(B_LINE));
+        Assert.assertEquals(RouteUrlCache.get("k", 1_001 + TTL), Optional.empty());
+    }
+
+    @Test
+    public void save_prunes_expired_entries() throws Exception {
+        Path file = Files.createTempDirectory("rc").resolve("routes.properties");
+        System.setProperty("ROUTE_CACHE", file.toString());
+        RouteUrlCache.putAll(Map.of("old", B_LINE), 0);
+        RouteUrlCache.putAll(Map.of("new", ROUTE_9), TTL + 1);
+
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(file)) { p.load(r); }
+        Assert.assertEquals(p.stringPropertyNames(), Set.of("new"));
+    }
+
+    @Test
+    public void removed_entry_stays_gone_after_reload() throws Exception {
+        Path file = Files.createTempDirectory("rc").resolve("routes.properties");
+        System.setProperty("ROUTE_CACHE", file.toString());
+        RouteUrlCache.putAll(Map.of("stale", B_LINE, "ok", ROUTE_9));
+        RouteUrlCache.remove("stale");
+
+        RouteUrlCache.reset();
+        Assert.assertEquals(RouteUrlCache.get("stale"), Optional.empty());
+        Assert.assertEquals(RouteUrlCache.get("ok"), Optional.of(ROUTE_9));
+    }
+
+    @Test
+    public void match_prefers_exact_text_then_whole_route_number() {
+        Map<String, String> links = new LinkedHashMap<>();
+        links.put("#99 - UBC B-Line", B_LINE);
+        links.put("#9 - Boundary/Commercial-Broadway Station/Alma/UBC", ROUTE_9);
+
+        Assert.assertEquals(BusSchedulesPage.match("#99 - UBC B-Line", links), B_LINE);
+        Assert.assertEquals(BusSchedulesPage.match("99", links), B_LINE);
+        Assert.assertEquals(BusSchedulesPage.match("9", links), ROUTE_9);
+        Assert.assertEquals(BusSchedulesPage.match("#9", links), ROUTE_9);
+    }
+
+    @Test
+    public void route_number_is_not_a_prefix_match() {
+        Map<String, String> links = Map.of("#99 - UBC B-Line", B_LINE);
+
+        Assert.assertNull(BusSchedulesPage.match("9", links));
+        Assert.assertNull(BusSchedulesPage.match("990", links));
+    }
+}
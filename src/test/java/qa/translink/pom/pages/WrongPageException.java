@@ -0,0 +1,12 @@
+package qa.translink.pom.pages;
+
+import org.openqa.selenium.WebDriverException;
+
+/** The browser is not on the page a page object expects; retrying the lookup cannot help. */
+public class WrongPageException extends WebDriverException {
+    private static final long serialVersionUID = 1L;
+
+    public WrongPageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,127 @@
+package qa.translink.pom.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serves a mirrored copy of the site (e.g. {@code wget --mirror --page-requisites --adjust-extension --convert-links})
+ * from a local directory, so the flow can run without network. "/a/b" resolves to a/b, a/b.html or a/b/index.html.
+ * <p>
+ * Query strings map to files the way wget names them: "/a/b?x=1" is a/b?x=1 or a/b?x=1.html ("/a/?x=1" is
+ * a/index.html?x=1[.html]), also with '@' instead of '?' (--restrict-file-names=windows). A query that was not
+ * mirrored is a 404, never the unfiltered page.
+ * <p>
+ * {@link #dropRequests(int)} emulates a lossy link for HTTP: that share of requests is closed without a response.
+ */
+public final class LocalSite implements AutoCloseable {
+
+    private final Path base;
+    private final HttpServer server;
+    private volatile int dropPct;
+
+    private LocalSite(Path root) throws IOException {
+        this.base = root.toAbsolutePath().normalize();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+    }
+
+    public static LocalSite serve(Path root) throws IOException {
+        if (!Files.isDirectory(root)) throw new IOException("not a directory: " + root.toAbsolutePath());
+        LocalSite site = new LocalSite(root);
+        site.server.start();
+        return site;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Share of requests (0-100) closed without a response from now on. */
+    public void dropRequests(int percent) {
+        if (percent < 0 || percent > 100) throw new IllegalArgumentException("drop percentage out of range: " + percent);
+        dropPct = percent;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /** The mirrored file for a request, or null when there is none (outside the root included). */
+    static Path resolve(Path base, URI uri) {
+        Path p = base.resolve(uri.getPath().replaceFirst("^/+", "")).normalize();
+        if (!p.startsWith(base)) return null;
+
+        String rawQuery = uri.getRawQuery();
+        if (rawQuery == null) {
+            if (Files.isDirectory(p)) p = p.resolve("index.html");
+            else if (!Files.exists(p)) p = p.resolveSibling(p.getFileName() + ".html");
+            return Files.isRegularFile(p) ? p : null;
+        }
+
+        Path file = (Files.isDirectory(p) || uri.getPath().endsWith("/")) ? p.resolve("index.html") : p;
+        Set<String> queries = new LinkedHashSet<>();
+        queries.add(rawQuery);
+        queries.add(URLDecoder.decode(rawQuery, StandardCharsets.UTF_8));
+        for (String q : queries) {
+            for (char sep : new char[]{'?', '@'}) {
+                for (String ext : new String[]{"", ".html"}) {
+                    String name = file.getFileName() + String.valueOf(sep) + q + ext;
+                    if (name.indexOf('/') >= 0) continue;
+                    Path candidate = file.resolveSibling(name);
+                    if (Files.isRegularFile(candidate)) return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String contentType(String file) {
+        String ext = file.substring(file.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        String type = switch (ext) {
+            case "html", "htm" -> "text/html; charset=utf-8";
+            case "css" -> "text/css";
+            case "js", "mjs" -> "text/javascript";
+            case "json" -> "application/json";
+            case "svg" -> "image/svg+xml";
+            case "woff2" -> "font/woff2";
+            default -> URLConnection.guessContentTypeFromName(file);
+        };
+        return type != null ? type : "application/octet-stream";
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            int drop = dropPct;
+            if (drop > 0 && ThreadLocalRandom.current().nextInt(100) < drop) return; // closed without a response
+
+            Path p = resolve(base, ex.getRequestURI());
+            if (p == null) {
+                ex.sendResponseHeaders(404, -1);
+                return;
+            }
+            ex.getResponseHeaders().set("Content-Type", contentType(stripQuery(p.getFileName().toString())));
+            ex.sendResponseHeaders(200, Files.size(p));
+            try (OutputStream out = ex.getResponseBody()) { Files.copy(p, out); }
+        }
+    }
+
+    /** "list?page=2.html" is served as HTML, "app.js?v=3" as JavaScript. */
+    private static String stripQuery(String name) {
+        return name.endsWith(".html") ? name : name.replaceFirst("\\?.*$", "");
+    }
+}
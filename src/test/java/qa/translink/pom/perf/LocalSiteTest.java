@@ -0,0 +1,55 @@
+package qa.translink.pom.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class LocalSiteTest {
+
+    @Test
+    public void maps_paths_and_queries_like_wget_names_them() throws Exception {
+        Path root = Files.createTempDirectory("site");
+        Path sched = Files.createDirectories(root.resolve("schedules-and-maps"));
+        Files.writeString(sched.resolve("bus-schedules.html"), "all");
+        Files.writeString(sched.resolve("bus-schedules?q=99.html"), "filtered");
+        Files.writeString(sched.resolve("index.html"), "index");
+        Files.writeString(sched.resolve("index.html@page=2.html"), "page 2");
+        Files.writeString(root.resolve("app.js?v=3"), "js");
+
+        Assert.assertEquals(LocalSite.resolve(root, URI.create("/schedules-and-maps/bus-schedules")), sched.resolve("bus-schedules.html"));
+        Assert.assertEquals(LocalSite.resolve(root, URI.create("/schedules-and-maps/bus-schedules?q=99")), sched.resolve("bus-schedules?q=99.html"));
+        Assert.assertEquals(LocalSite.resolve(root, URI.create("/schedules-and-maps/bus-schedules%3Fq=99.html")), sched.resolve("bus-schedules?q=99.html"));
+        Assert.assertEquals(LocalSite.resolve(root, URI.create("/schedules-and-maps/?page=2")), sched.resolve("index.html@page=2.html"));
+        Assert.assertEquals(LocalSite.resolve(root, URI.create("/app.js?v=3")), root.resolve("app.js?v=3"));
+    }
+
+    @Test
+    public void unmirrored_query_and_escapes_are_not_found() throws Exception {
+        Path root = Files.createTempDirectory("site");
+        Files.writeString(root.resolve("bus-schedules.html"), "all");
+
+        Assert.assertNull(LocalSite.resolve(root, URI.create("/bus-schedules?q=14")));
+        Assert.assertNull(LocalSite.resolve(root, URI.create("/../etc/passwd")));
+    }
+
+    @Test
+    public void dropped_requests_get_no_response() throws Exception {
+        Path root = Files.createTempDirectory("site");
+        Files.writeString(root.resolve("index.html"), "home");
+        HttpClient http = HttpClient.newHttpClient();
+        try (LocalSite site = LocalSite.serve(root)) {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(site.baseUrl() + "/")).build();
+            Assert.assertEquals(http.send(req, HttpResponse.BodyHandlers.ofString()).body(), "home");
+
+            site.dropRequests(100);
+            Assert.assertThrows(IOException.class, () -> http.send(req, HttpResponse.BodyHandlers.ofString()));
+        }
+    }
+}
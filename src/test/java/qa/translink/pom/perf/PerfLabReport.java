@@ -0,0 +1,63 @@
+package qa.translink.pom.perf;
+
+import qa.translink.pom.browser.NetworkProfile;
+import qa.translink.pom.io.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/** Step latency and flake rate per {@link NetworkProfile}, accumulated over the perf-lab runs. */
+public final class PerfLabReport {
+
+    private static final class ProfileStats {
+        final Map<String, List<Long>> stepMs = new LinkedHashMap<>();
+        final Map<String, Integer> failedAt = new LinkedHashMap<>();
+        int runs, failures;
+    }
+
+    private final Map<NetworkProfile, ProfileStats> stats = new LinkedHashMap<>();
+
+    public synchronized void step(NetworkProfile p, String step, long millis) {
+        stats.computeIfAbsent(p, k -> new ProfileStats()).stepMs.computeIfAbsent(step, k -> new ArrayList<>()).add(millis);
+    }
+
+    /** failedStep is null for a green run. */
+    public synchronized void run(NetworkProfile p, String failedStep) {
+        ProfileStats s = stats.computeIfAbsent(p, k -> new ProfileStats());
+        s.runs++;
+        if (failedStep != null) {
+            s.failures++;
+            s.failedAt.merge(failedStep, 1, Integer::sum);
+        }
+    }
+
+    public synchronized String render() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<NetworkProfile, ProfileStats> e : stats.entrySet()) {
+            NetworkProfile p = e.getKey();
+            ProfileStats s = e.getValue();
+            sb.append(String.format(Locale.ROOT, "%s (latency %d ms, down %s, dropped requests %d%%, cpu x%.0f): %d runs, %d failed, flake rate %.0f%%%n",
+                    p, p.latencyMs, p.downKbps < 0 ? "unthrottled" : p.downKbps + " kbps", p.requestDropPct, p.cpuSlowdown,
+                    s.runs, s.failures, s.runs == 0 ? 0.0 : 100.0 * s.failures / s.runs));
+            sb.append(String.format(Locale.ROOT, "  %-24s %6s %8s %8s %8s%n", "step", "n", "p50 ms", "p95 ms", "max ms"));
+            s.stepMs.forEach((step, ms) -> {
+                long[] sorted = ms.stream().mapToLong(Long::longValue).sorted().toArray();
+                sb.append(String.format(Locale.ROOT, "  %-24s %6d %8d %8d %8d%n",
+                        step, sorted.length, pct(sorted, 0.5), pct(sorted, 0.95), sorted[sorted.length - 1]));
+            });
+            if (!s.failedAt.isEmpty()) sb.append("  failed at: ").append(s.failedAt).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /** Writes to -DPERF_REPORT (default target/perf-lab-report.txt). */
+    public Path write() throws IOException {
+        return AtomicFiles.writeString(Path.of(System.getProperty("PERF_REPORT", "target/perf-lab-report.txt")), render());
+    }
+
+    private static long pct(long[] sorted, double q) {
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
@@ -26,7 +26,7 @@ public class HomeworkFlowTest extends BaseTest {
                 LocalTime.parse("07:30"),
                 LocalTime.parse("08:30"));
         // 5) Bonus assert: stop times monotonic + headway
-        ScheduleAsserts.assertFirstFourIncreasingAndHeadway(d, "50913");
+        ScheduleAsserts.assertFirstFourIncreasingAndHeadway(d, "99", target, "50913");
         // 6) Open stop and add favourite
         route.openStopByNumber("50913");
         String fav = "99 UBC B-Line – Morning Schedule";
@@ -0,0 +1,158 @@
+package qa.translink.pom.tests;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import qa.translink.pom.BaseTest;
+import qa.translink.pom.assertions.ScheduleAsserts;
+import qa.translink.pom.browser.ChromeHost;
+import qa.translink.pom.browser.NetworkProfile;
+import qa.translink.pom.pages.*;
+import qa.translink.pom.perf.LocalSite;
+import qa.translink.pom.perf.PerfLabReport;
+import qa.translink.pom.timing.TimingProfile;
+
+import java.nio.file.Path;
+import java.time.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Performance lab (-DPERF_LAB=true): runs the schedule flow PERF_RUNS times under each NET_PROFILES entry
+ * and reports step latency and flake rate per profile. Off by default: the data provider yields no rows.
+ * <p>
+ * The lab is offline: pages come from the local mirror in -DPERF_SITE_DIR, Chrome resolves no host but
+ * 127.0.0.1, and any page or resource still loaded from another host fails the run at step "offline.leak".
+ * The service date and window (-DPERF_DATE, -DPERF_START, -DPERF_END) must be the ones the mirror was made for.
+ * Wait latencies are not recorded into -DTIMING_PROFILE while the lab runs.
+ */
+public class PerfLabTest extends BaseTest {
+
+    private final PerfLabReport report = new PerfLabReport();
+    private LocalSite site;
+    private String prevBaseUrl;
+
+    @Override
+    protected boolean needsBrowser() {
+        if (!Boolean.getBoolean("PERF_LAB")) return false;
+        String dir = System.getProperty("PERF_SITE_DIR");
+        if (dir == null || dir.isBlank()) throw new IllegalStateException("perf lab runs offline: set -DPERF_SITE_DIR to a local mirror");
+        if (ChromeHost.enabled()) throw new IllegalStateException("perf lab needs its own Chrome: run it without -DSHARED_BROWSER");
+        if (System.getProperty("PERF_DATE", "").isBlank()) throw new IllegalStateException("perf lab needs -DPERF_DATE=yyyy-MM-dd, the service date of the mirrored schedule");
+        return true;
+    }
+
+    @Override
+    protected void customizeOptions(ChromeOptions opts) {
+        if (!Boolean.getBoolean("PERF_LAB")) return;
+        opts.addArguments("--host-resolver-rules=MAP * ~NOTFOUND , EXCLUDE 127.0.0.1", "--disable-background-networking");
+    }
+
+    @BeforeClass(alwaysRun = true)
+    public void startLab() throws Exception {
+        if (!needsBrowser()) return;
+        site = LocalSite.serve(Path.of(System.getProperty("PERF_SITE_DIR")));
+        prevBaseUrl = System.setProperty("BASE_URL", site.baseUrl());
+        TimingProfile.suspendRecording(true);
+    }
+
+    @DataProvider
+    public Object[][] profiles() {
+        if (!Boolean.getBoolean("PERF_LAB")) return new Object[0][];
+        String names = System.getProperty("NET_PROFILES", "none,fast3g,slow3g,high_latency,lossy");
+        return Arrays.stream(names.split(",")).map(n -> new Object[]{NetworkProfile.parse(n)}).toArray(Object[][]::new);
+    }
+
+    @Test(dataProvider = "profiles")
+    public void schedule_flow_under_profile(NetworkProfile profile) {
+        int runs = Integer.getInteger("PERF_RUNS", 3);
+        for (int i = 0; i < runs; i++) {
+            d.manage().deleteAllCookies();
+            profile.apply(d);
+            site.dropRequests(profile.requestDropPct);
+            String failedAt = null;
+            try {
+                runFlow(profile);
+            } catch (StepFailure f) {
+                failedAt = f.step;
+                System.out.println("[PerfLab] " + profile + " run " + (i + 1) + " failed at " + f.step + ": " + f.getCause());
+            } finally {
+                site.dropRequests(sessionProfile.requestDropPct);
+                try { sessionProfile.apply(d); } catch (RuntimeException ignore) {}
+            }
+            report.run(profile, failedAt);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() throws Exception {
+        TimingProfile.suspendRecording(false);
+        if (site != null) {
+            site.close();
+            if (prevBaseUrl != null) System.setProperty("BASE_URL", prevBaseUrl); else System.clearProperty("BASE_URL");
+        }
+        if (!Boolean.getBoolean("PERF_LAB")) return;
+        System.out.print(report.render());
+        System.out.println("[PerfLab] report: " + report.write().toAbsolutePath());
+    }
+
+    private void runFlow(NetworkProfile p) {
+        HomePage home = step(p, "home.open", () -> new HomePage(d, wait).open());
+        BusSchedulesPage schedules = step(p, "home.openBusSchedules", home::openBusSchedules);
+        step(p, "schedules.searchRoute", () -> { schedules.searchRoute("99"); return null; });
+        RoutePage route = step(p, "schedules.openRoute", () -> schedules.openRouteExact("#99 - UBC B-Line"));
+        LocalDate date = LocalDate.parse(System.getProperty("PERF_DATE"));
+        LocalTime start = LocalTime.parse(System.getProperty("PERF_START", "07:30"));
+        LocalTime end = LocalTime.parse(System.getProperty("PERF_END", "08:30"));
+        step(p, "route.setDateTime", () -> {
+            route.setDateTime(date, start, end);
+            return null;
+        });
+        step(p, "schedule.assert", () -> {
+            ScheduleAsserts.assertFirstFourIncreasingAndHeadway(d, "50913"); // uncached: measure the real check
+            return null;
+        });
+    }
+
+    private <T> T step(NetworkProfile p, String name, Supplier<T> body) {
+        long t0 = System.nanoTime();
+        try {
+            T v = body.get();
+            report.step(p, name, (System.nanoTime() - t0) / 1_000_000);
+            List<String> leaks = offlineLeaks();
+            if (!leaks.isEmpty()) throw new StepFailure("offline.leak", new IllegalStateException("after " + name + ": " + leaks));
+            return v;
+        } catch (StepFailure f) {
+            throw f;
+        } catch (RuntimeException | AssertionError e) {
+            throw new StepFailure(name, e);
+        }
+    }
+
+    /** The page and resources of the current document that did not come from 127.0.0.1. */
+    @SuppressWarnings("unchecked")
+    private List<String> offlineLeaks() {
+        return (List<String>) ((JavascriptExecutor) d).executeScript("""
+            const urls = [location.href, ...performance.getEntriesByType('resource').map(e => e.name)];
+            return urls.filter(u => {
+              try { const x = new URL(u); return /^(https?|wss?):$/.test(x.protocol) && x.hostname !== '127.0.0.1'; }
+              catch (e) { return false; }
+            });
+        """);
+    }
+
+    private static final class StepFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final String step;
+
+        StepFailure(String step, Throwable cause) {
+            super(step, cause);
+            this.step = step;
+        }
+    }
+}
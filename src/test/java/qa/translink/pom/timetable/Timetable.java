@@ -0,0 +1,73 @@
+package qa.translink.pom.timetable;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Full route timetable for one route, service date and time window.
+ * cells[stop][trip] holds the raw data-stop-time minutes, or {@link #MISSING} when the trip does not serve the stop.
+ */
+public record Timetable(String route, LocalDate date, LocalTime start, LocalTime end,
+                        List<String> stops, int[][] cells) {
+
+    public static final int MISSING = -1;
+
+    public int tripCount() {
+        int n = 0;
+        for (int[] row : cells) n = Math.max(n, row.length);
+        return n;
+    }
+
+    public int cell(int stop, int trip) {
+        int[] row = cells[stop];
+        return trip < row.length ? row[trip] : MISSING;
+    }
+
+    /** False for a capture taken before the table rendered: no stop rows, or no stop times in them. */
+    public boolean hasTimes() {
+        for (int[] row : cells) for (int v : row) if (v != MISSING) return true;
+        return false;
+    }
+
+    /** Read every stop row of the rendered schedule in one script call. */
+    @SuppressWarnings("unchecked")
+    public static Timetable capture(WebDriver d, String route, LocalDate date, LocalTime start, LocalTime end) {
+        String js = """
+            const out = [];
+            for (const tr of document.querySelectorAll("tr")){
+              const a = tr.querySelector("th a[href*='/schedules-and-maps/stop/']");
+              if (!a) continue;
+              const m = /\\/stop\\/(\\d+)\\//.exec(a.getAttribute("href") || "");
+              if (!m) continue;
+              const times = [];
+              for (const td of tr.querySelectorAll("td[data-stop-time]")){
+                const v = td.getAttribute("data-stop-time");
+                times.push(v && /^\\d+$/.test(v) ? parseInt(v,10) : -1);
+              }
+              out.push([m[1], times]);
+            }
+            return out;
+        """;
+
+        List<List<Object>> raw = (List<List<Object>>) ((JavascriptExecutor) d).executeScript(js);
+        if (raw == null) raw = Collections.emptyList();
+
+        List<String> stops = new ArrayList<>(raw.size());
+        int[][] cells = new int[raw.size()][];
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < raw.size(); i++) {
+            String stop = String.valueOf(raw.get(i).get(0));
+            int dup = seen.merge(stop, 1, Integer::sum);
+            stops.add(dup == 1 ? stop : stop + "#" + dup); // same stop in both directions
+            List<Number> times = (List<Number>) raw.get(i).get(1);
+            int[] row = new int[times.size()];
+            for (int t = 0; t < row.length; t++) row[t] = times.get(t).intValue();
+            cells[i] = row;
+        }
+        return new Timetable(route, date, start, end, List.copyOf(stops), cells);
+    }
+}
@@ -0,0 +1,101 @@
+package qa.translink.pom.timetable;
+
+import java.util.*;
+
+/**
+ * Stops and trips that changed between two captures of the same route/date/window.
+ * <p>
+ * The table exposes no trip id, so trips (columns) are aligned by content first: the longest common subsequence of
+ * identical columns (over the stops present in both captures) is unchanged; leftover columns between two matches are
+ * paired in order as changed trips, and the surplus on either side is added/removed. One trip entering or leaving the
+ * window therefore shows up as one added/removed trip instead of shifting every later column.
+ * Trip indices refer to columns of the capture they come from (added/changed: new capture, removed: previous one).
+ */
+public record TimetableDiff(boolean firstRun,
+                            List<String> stopsAdded, List<String> stopsRemoved, List<String> stopsChanged,
+                            List<Integer> tripsAdded, List<Integer> tripsRemoved, List<Integer> tripsChanged) {
+
+    public static TimetableDiff between(Timetable before, Timetable after) {
+        if (before == null) {
+            return new TimetableDiff(true, after.stops(), List.of(), List.of(), List.of(), List.of(), List.of());
+        }
+
+        Map<String, Integer> oldIdx = new HashMap<>();
+        for (int i = 0; i < before.stops().size(); i++) oldIdx.put(before.stops().get(i), i);
+
+        List<String> added = new ArrayList<>();
+        List<int[]> common = new ArrayList<>(); // {before stop index, after stop index}
+        Set<String> seen = new HashSet<>();
+        for (int s = 0; s < after.stops().size(); s++) {
+            String stop = after.stops().get(s);
+            Integer o = oldIdx.get(stop);
+            if (o == null) added.add(stop);
+            else { common.add(new int[]{o, s}); seen.add(stop); }
+        }
+        List<String> removed = before.stops().stream().filter(s -> !seen.contains(s)).toList();
+
+        int n = before.tripCount(), m = after.tripCount();
+        List<int[]> matched = lcs(before, after, common, n, m);
+
+        List<Integer> tripsAdded = new ArrayList<>(), tripsRemoved = new ArrayList<>(), tripsChanged = new ArrayList<>();
+        boolean[] stopChanged = new boolean[common.size()];
+        int bi = 0, ai = 0;
+        matched.add(new int[]{n, m}); // sentinel closes the last gap
+        for (int[] anchor : matched) {
+            while (bi < anchor[0] && ai < anchor[1]) {
+                tripsChanged.add(ai);
+                for (int c = 0; c < common.size(); c++) {
+                    if (before.cell(common.get(c)[0], bi) != after.cell(common.get(c)[1], ai)) stopChanged[c] = true;
+                }
+                bi++; ai++;
+            }
+            while (bi < anchor[0]) tripsRemoved.add(bi++);
+            while (ai < anchor[1]) tripsAdded.add(ai++);
+            bi++; ai++;
+        }
+
+        List<String> changed = new ArrayList<>();
+        for (int c = 0; c < common.size(); c++) if (stopChanged[c]) changed.add(after.stops().get(common.get(c)[1]));
+
+        return new TimetableDiff(false, List.copyOf(added), removed, List.copyOf(changed),
+                List.copyOf(tripsAdded), List.copyOf(tripsRemoved), List.copyOf(tripsChanged));
+    }
+
+    public boolean isEmpty() {
+        return !firstRun && stopsAdded.isEmpty() && stopsRemoved.isEmpty() && stopsChanged.isEmpty()
+                && tripsAdded.isEmpty() && tripsRemoved.isEmpty() && tripsChanged.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        if (firstRun) return "first run, " + stopsAdded.size() + " stops";
+        if (isEmpty()) return "unchanged";
+        return "stops +" + stopsAdded + " -" + stopsRemoved + " ~" + stopsChanged
+                + ", trips +" + tripsAdded + " -" + tripsRemoved + " ~" + tripsChanged;
+    }
+
+    // ===== internals =====
+
+    /** Index pairs {before trip, after trip} of identical columns, in order (classic LCS table). */
+    private static List<int[]> lcs(Timetable before, Timetable after, List<int[]> common, int n, int m) {
+        int[][] len = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                len[i][j] = sameTrip(before, i, after, j, common) ? len[i + 1][j + 1] + 1 : Math.max(len[i + 1][j], len[i][j + 1]);
+            }
+        }
+        List<int[]> out = new ArrayList<>();
+        int i = 0, j = 0;
+        while (i < n && j < m) {
+            if (sameTrip(before, i, after, j, common)) { out.add(new int[]{i, j}); i++; j++; }
+            else if (len[i + 1][j] >= len[i][j + 1]) i++;
+            else j++;
+        }
+        return out;
+    }
+
+    private static boolean sameTrip(Timetable before, int bt, Timetable after, int at, List<int[]> common) {
+        for (int[] c : common) if (before.cell(c[0], bt) != after.cell(c[1], at)) return false;
+        return true;
+    }
+}
@@ -0,0 +1,172 @@
+package qa.translink.pom.timetable;
+
+import qa.translink.pom.io.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk history of captured timetables: {@code <dir>/<route>/<date>_<HHmm>-<HHmm>/run-<millis>.ttb}.
+ * <p>
+ * File layout (big-endian): magic, version, route, epoch day, start/end minute, stop count, trip count,
+ * stop ids, then one column of stop times per trip so a changed trip is a contiguous block.
+ * Only the newest -DTIMETABLE_KEEP runs (default 30) are kept per key.
+ */
+public final class TimetableStore {
+
+    private static final int MAGIC = 0x544C5454; // "TLTT"
+    private static final short VERSION = 1;
+    private static final String EXT = ".ttb";
+    private static final DateTimeFormatter HHMM = DateTimeFormatter.ofPattern("HHmm");
+
+    private final Path root;
+    private final int keep;
+
+    public TimetableStore(Path root, int keep) {
+        if (keep < 1) throw new IllegalArgumentException("keep must be >= 1: " + keep);
+        this.root = root;
+        this.keep = keep;
+    }
+
+    /** Store enabled by -DTIMETABLE_DIR=...; empty when export is off. */
+    public static Optional<TimetableStore> configured() {
+        String dir = System.getProperty("TIMETABLE_DIR");
+        return (dir == null || dir.isBlank())
+                ? Optional.empty()
+                : Optional.of(new TimetableStore(Path.of(dir), Integer.getInteger("TIMETABLE_KEEP", 30)));
+    }
+
+    /**
+     * Diff against the previous run for the same route/date/window, print it, then persist the new run.
+     * A capture without stop times is neither compared nor stored, so it cannot become the baseline of the next run.
+     * Empty when nothing was recorded.
+     */
+    public Optional<TimetableDiff> record(Timetable t) {
+        if (!t.hasTimes()) {
+            System.err.println("[Timetable] " + t.route() + " " + t.date() + ": capture has no stop times, not stored");
+            return Optional.empty();
+        }
+        try {
+            Optional<Timetable> prev = latest(t.route(), t.date(), t.start(), t.end());
+            TimetableDiff diff = TimetableDiff.between(prev.orElse(null), t);
+            write(t);
+            System.out.println("[Timetable] " + t.route() + " " + t.date() + " " + t.start() + "-" + t.end() + ": " + diff);
+            return Optional.of(diff);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[Timetable] export failed: " + e);
+            return Optional.empty();
+        }
+    }
+
+    /** Persist a run, then drop the oldest runs beyond the retention limit. */
+    public Path write(Timetable t) throws IOException {
+        Path dir = dirFor(t.route(), t.date(), t.start(), t.end());
+        Path file = AtomicFiles.write(dir.resolve(String.format("run-%013d%s", System.currentTimeMillis(), EXT)), encode(t));
+
+        List<Path> runs = history(t.route(), t.date(), t.start(), t.end());
+        for (int i = 0; i < runs.size() - keep; i++) Files.deleteIfExists(runs.get(i));
+        return file;
+    }
+
+    /** Newest readable run; unreadable files (corrupt, older format) are skipped, not fatal. */
+    public Optional<Timetable> latest(String route, LocalDate date, LocalTime start, LocalTime end) throws IOException {
+        List<Path> runs = history(route, date, start, end);
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            try {
+                return Optional.of(read(runs.get(i)));
+            } catch (IOException e) {
+                System.err.println("[Timetable] skipping unreadable run " + runs.get(i) + ": " + e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** All stored runs for the key, oldest first. */
+    public List<Path> history(String route, LocalDate date, LocalTime start, LocalTime end) throws IOException {
+        Path dir = dirFor(route, date, start, end);
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().endsWith(EXT)).sorted().toList();
+        }
+    }
+
+    public static Timetable read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (b.getInt() != MAGIC) throw new IOException("not a timetable file: " + file);
+            short version = b.getShort();
+            if (version != VERSION) throw new IOException("unsupported timetable version " + version + ": " + file);
+
+            String route = readString(b);
+            LocalDate date = LocalDate.ofEpochDay(b.getInt());
+            LocalTime start = LocalTime.ofSecondOfDay(b.getShort() * 60L);
+            LocalTime end = LocalTime.ofSecondOfDay(b.getShort() * 60L);
+            int stopCount = b.getInt();
+            int tripCount = b.getInt();
+
+            List<String> stops = new ArrayList<>(stopCount);
+            for (int i = 0; i < stopCount; i++) stops.add(readString(b));
+
+            int[][] cells = new int[stopCount][tripCount];
+            for (int trip = 0; trip < tripCount; trip++) {
+                for (int stop = 0; stop < stopCount; stop++) cells[stop][trip] = b.getInt();
+            }
+            return new Timetable(route, date, start, end, List.copyOf(stops), cells);
+        } catch (RuntimeException e) {
+            throw new IOException("corrupt timetable file: " + file, e);
+        }
+    }
+
+    // ===== internals =====
+
+    private static byte[] encode(Timetable t) {
+        List<byte[]> stopBytes = t.stops().stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).toList();
+        byte[] route = t.route().getBytes(StandardCharsets.UTF_8);
+        int stops = t.stops().size(), trips = t.tripCount();
+
+        int size = 4 + 2 + 2 + route.length + 4 + 2 + 2 + 4 + 4 + 4 * stops * trips;
+        for (byte[] s : stopBytes) size += 2 + s.length;
+
+        ByteBuffer b = ByteBuffer.allocate(size);
+        b.putInt(MAGIC).putShort(VERSION);
+        putString(b, route);
+        b.putInt((int) t.date().toEpochDay());
+        b.putShort((short) (t.start().toSecondOfDay() / 60));
+        b.putShort((short) (t.end().toSecondOfDay() / 60));
+        b.putInt(stops).putInt(trips);
+        for (byte[] s : stopBytes) putString(b, s);
+        for (int trip = 0; trip < trips; trip++) {
+            for (int stop = 0; stop < stops; stop++) b.putInt(t.cell(stop, trip));
+        }
+        return b.array();
+    }
+
+    private static void putString(ByteBuffer b, byte[] utf8) {
+        if (utf8.length > 0xFFFF) throw new IllegalArgumentException("string too long: " + utf8.length + " bytes");
+        b.putShort((short) utf8.length).put(utf8);
+    }
+
+    private static String readString(ByteBuffer b) {
+        byte[] utf8 = new byte[Short.toUnsignedInt(b.getShort())];
+        b.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private Path dirFor(String route, LocalDate date, LocalTime start, LocalTime end) {
+        return root.resolve(safe(route)).resolve(date + "_" + start.format(HHMM) + "-" + end.format(HHMM));
+    }
+
+    private static String safe(String s) {
+        String v = s.replaceAll("[^A-Za-z0-9_-]+", "_");
+        return v.isEmpty() ? "_" : v;
+    }
+}
@@ -0,0 +1,96 @@
+package qa.translink.pom.timetable;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class TimetableTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 20);
+    private static final LocalTime START = LocalTime.of(7, 30), END = LocalTime.of(8, 30);
+
+    private static Timetable tt(List<String> stops, int[][] cells) {
+        return new Timetable("99/direction/1", DATE, START, END, stops, cells);
+    }
+
+    @Test
+    public void store_round_trips_and_pads_ragged_rows() throws Exception {
+        TimetableStore store = new TimetableStore(Files.createTempDirectory("tt"), 5);
+        Timetable t = tt(List.of("50913", "50914"), new int[][]{{1, 2, 3}, {4, 5}});
+        Timetable back = TimetableStore.read(store.write(t));
+
+        Assert.assertEquals(back.route(), t.route());
+        Assert.assertEquals(back.date(), DATE);
+        Assert.assertEquals(back.start(), START);
+        Assert.assertEquals(back.end(), END);
+        Assert.assertEquals(back.stops(), t.stops());
+        Assert.assertEquals(back.cells()[0], new int[]{1, 2, 3});
+        Assert.assertEquals(back.cells()[1], new int[]{4, 5, Timetable.MISSING});
+    }
+
+    @Test
+    public void store_keeps_only_newest_runs_and_skips_unreadable_ones() throws Exception {
+        TimetableStore store = new TimetableStore(Files.createTempDirectory("tt"), 2);
+        Timetable a = tt(List.of("1"), new int[][]{{10}});
+        Timetable b = tt(List.of("1"), new int[][]{{20}});
+        store.write(a);
+        Thread.sleep(2);
+        store.write(a);
+        Thread.sleep(2);
+        Path newest = store.write(b);
+        Assert.assertEquals(store.history(a.route(), DATE, START, END).size(), 2);
+
+        Files.write(newest.resolveSibling("run-9999999999999.ttb"), new byte[]{1, 2, 3});
+        Assert.assertEquals(store.latest(a.route(), DATE, START, END).orElseThrow().cells()[0], new int[]{20});
+    }
+
+    @Test
+    public void diff_first_run_and_unchanged() {
+        Timetable t = tt(List.of("1", "2"), new int[][]{{10, 20}, {11, 21}});
+        Assert.assertTrue(TimetableDiff.between(null, t).firstRun());
+        Assert.assertTrue(TimetableDiff.between(t, tt(List.of("1", "2"), new int[][]{{10, 20}, {11, 21}})).isEmpty());
+    }
+
+    @Test
+    public void diff_aligns_trips_when_an_early_trip_is_inserted() {
+        Timetable before = tt(List.of("1", "2"), new int[][]{{10, 20, 30}, {11, 21, 31}});
+        Timetable after = tt(List.of("1", "2"), new int[][]{{5, 10, 20, 30}, {6, 11, 21, 31}});
+        TimetableDiff d = TimetableDiff.between(before, after);
+
+        Assert.assertEquals(d.tripsAdded(), List.of(0));
+        Assert.assertEquals(d.tripsRemoved(), List.of());
+        Assert.assertEquals(d.tripsChanged(), List.of());
+        Assert.assertEquals(d.stopsChanged(), List.of());
+    }
+
+    @Test
+    public void diff_reports_changed_trip_removed_trip_and_stop_membership() {
+        Timetable before = tt(List.of("1", "2", "3"), new int[][]{{10, 20, 30}, {11, 21, 31}, {12, 22, 32}});
+        Timetable after = tt(List.of("1", "2", "4"), new int[][]{{10, 25}, {11, 21}, {13, 23}});
+        TimetableDiff d = TimetableDiff.between(before, after);
+
+        Assert.assertEquals(d.stopsAdded(), List.of("4"));
+        Assert.assertEquals(d.stopsRemoved(), List.of("3"));
+        Assert.assertEquals(d.tripsChanged(), List.of(1));
+        Assert.assertEquals(d.tripsRemoved(), List.of(2));
+        Assert.assertEquals(d.stopsChanged(), List.of("1"));
+    }
+
+    @Test
+    public void record_ignores_captures_without_stop_times() throws Exception {
+        TimetableStore store = new TimetableStore(Files.createTempDirectory("tt"), 5);
+        Timetable good = tt(List.of("50913"), new int[][]{{450, 460}});
+        Assert.assertTrue(store.record(good).orElseThrow().firstRun());
+
+        Assert.assertTrue(store.record(tt(List.of(), new int[0][])).isEmpty());
+        Assert.assertTrue(store.record(tt(List.of("50913"), new int[][]{{Timetable.MISSING}})).isEmpty());
+
+        Assert.assertEquals(store.history(good.route(), DATE, START, END).size(), 1);
+        Assert.assertTrue(store.record(good).orElseThrow().isEmpty()); // still diffed against the good run
+    }
+}
@@ -0,0 +1,46 @@
+package qa.translink.pom.timing;
+
+import java.time.Duration;
+
+/**
+ * Deadline of a named polling loop. It first expires at the {@link TimingProfile} timeout; if that was tuned below the
+ * hard-coded fallback, it is extended once to the fallback, so a site that got slower than the profile costs one
+ * slow wait instead of a failure. Timed-out waits are recorded too, which raises the next tuned timeout.
+ */
+public final class Deadline {
+    private final String name;
+    private final long start = System.currentTimeMillis();
+    private final long fallbackEnd;
+    private long end;
+    private boolean extended;
+
+    public Deadline(String name, Duration fallback) {
+        this.name = name;
+        this.fallbackEnd = start + fallback.toMillis();
+        this.end = start + TimingProfile.timeout(name, fallback).toMillis();
+    }
+
+    /** True while the loop may poll again. */
+    public boolean pending() {
+        long now = System.currentTimeMillis();
+        if (now < end) return true;
+        if (extended || end >= fallbackEnd) return false;
+        extended = true;
+        end = fallbackEnd;
+        System.err.println("[TimingProfile] " + name + " exceeded its tuned timeout, waiting up to the fallback");
+        return now < end;
+    }
+
+    public void succeeded() {
+        TimingProfile.record(name, elapsed());
+    }
+
+    /** Call when the loop gives up; a tuned wait that ran out is kept as a sample. */
+    public void timedOut() {
+        if (extended) TimingProfile.record(name, elapsed());
+    }
+
+    private Duration elapsed() {
+        return Duration.ofMillis(System.currentTimeMillis() - start);
+    }
+}
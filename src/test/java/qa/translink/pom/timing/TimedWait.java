@@ -0,0 +1,50 @@
+package qa.translink.pom.timing;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait whose timeout/poll come from the {@link TimingProfile} and whose waits feed it back. When a tuned
+ * timeout runs out, the wait goes on once for the rest of the hard-coded fallback and the time spent is recorded,
+ * so a profile that is too optimistic corrects itself instead of failing every run.
+ */
+public class TimedWait extends WebDriverWait {
+    private final WebDriver d;
+    private final String name;
+    private final Duration fallbackTimeout, poll, tunedTimeout;
+
+    public TimedWait(WebDriver d, String name, Duration fallbackTimeout, Duration fallbackPoll) {
+        this(d, name, fallbackTimeout, TimingProfile.timeout(name, fallbackTimeout), TimingProfile.poll(name, fallbackPoll));
+    }
+
+    private TimedWait(WebDriver d, String name, Duration fallbackTimeout, Duration tunedTimeout, Duration poll) {
+        super(d, tunedTimeout, poll);
+        this.d = d;
+        this.name = name;
+        this.fallbackTimeout = fallbackTimeout;
+        this.tunedTimeout = tunedTimeout;
+        this.poll = poll;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long t0 = System.nanoTime();
+        try {
+            V v = super.until(isTrue);
+            TimingProfile.record(name, Duration.ofNanos(System.nanoTime() - t0));
+            return v;
+        } catch (TimeoutException e) {
+            if (tunedTimeout.compareTo(fallbackTimeout) >= 0) throw e;
+            System.err.println("[TimingProfile] " + name + " exceeded its tuned timeout " + tunedTimeout.toMillis() + " ms, waiting up to the fallback");
+            try {
+                return new WebDriverWait(d, fallbackTimeout.minus(tunedTimeout), poll).until(isTrue);
+            } finally {
+                TimingProfile.record(name, Duration.ofNanos(System.nanoTime() - t0)); // success or not: the wait took this long
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package qa.translink.pom.timing;
+
+import qa.translink.pom.io.AtomicFiles;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Observed latency of each named wait, persisted between runs (-DTIMING_PROFILE=path), and the timeouts/poll
+ * intervals derived from it. Without a profile, or with fewer than {@link #MIN_SAMPLES} samples recorded,
+ * callers get their hard-coded fallback. A wait that outlives its tuned timeout is extended once to the fallback and
+ * recorded with the time it took (see {@link Deadline}, {@link TimedWait}), so timeouts can grow back as well as shrink.
+ * <p>
+ * timeout = clamp(p99.9 × TIMING_FACTOR, TIMING_MIN_MS, fallback); poll = clamp(p50 / 5, floor, fallback), where the
+ * floor is TIMING_MIN_POLL_MS (default 100) or a higher per-call floor for waits whose condition is itself expensive.
+ * Per-environment overrides win over both: -DTIMEOUT.&lt;name&gt;=ms and -DPOLL.&lt;name&gt;=ms.
+ */
+public final class TimingProfile {
+
+    private TimingProfile() {}
+
+    static final int MIN_SAMPLES = 30;
+    private static final int MAX_SAMPLES = 1000;
+
+    private static final Map<String, ArrayDeque<Long>> samples = new TreeMap<>();
+    private static Path file;
+    private static boolean loaded, dirty, hooked;
+    private static volatile boolean suspended;
+
+    public static Duration timeout(String name, Duration fallback) {
+        if (name == null) return fallback;
+        Long override = Long.getLong("TIMEOUT." + name);
+        if (override != null) return Duration.ofMillis(override);
+        long p999 = percentile(name, 0.999);
+        if (p999 < 0) return fallback;
+        double factor = Double.parseDouble(System.getProperty("TIMING_FACTOR", "3"));
+        return Duration.ofMillis(tunedTimeout(p999, factor, Long.getLong("TIMING_MIN_MS", 1000L), fallback.toMillis()));
+    }
+
+    public static Duration poll(String name, Duration fallback) {
+        return poll(name, fallback, Duration.ZERO);
+    }
+
+    /** As {@link #poll(String, Duration)}, but never below {@code minPoll} (for conditions that are costly to evaluate). */
+    public static Duration poll(String name, Duration fallback, Duration minPoll) {
+        if (name == null) return fallback;
+        Long override = Long.getLong("POLL." + name);
+        if (override != null) return Duration.ofMillis(override);
+        long p50 = percentile(name, 0.5);
+        if (p50 < 0) return fallback;
+        long floor = Math.max(minPoll.toMillis(), Long.getLong("TIMING_MIN_POLL_MS", 100L));
+        return Duration.ofMillis(tunedPoll(p50, floor, fallback.toMillis()));
+    }
+
+    /** Record how long a wait took (successful, or extended past its tuned timeout). No-op when no profile is configured. */
+    public static synchronized void record(String name, Duration observed) {
+        if (name == null || suspended || !ensureLoaded()) return;
+        ArrayDeque<Long> q = samples.computeIfAbsent(name, k -> new ArrayDeque<>());
+        q.addLast(observed.toMillis());
+        if (q.size() > MAX_SAMPLES) q.removeFirst();
+        dirty = true;
+    }
+
+    /**
+     * Stop/resume recording, e.g. while runs are deliberately throttled; tuned timeouts are still served.
+     * Latencies measured under an emulated slow network would otherwise loosen the timeouts of normal runs.
+     */
+    public static void suspendRecording(boolean suspend) {
+        suspended = suspend;
+    }
+
+    public static synchronized void save() {
+        if (!loaded || file == null || !dirty) return;
+        Properties p = new Properties();
+        samples.forEach((k, q) -> p.setProperty(k, joinSamples(q)));
+        try {
+            AtomicFiles.writeProperties(file, p, "wait latencies in ms, most recent last");
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("[TimingProfile] cannot write " + file + ": " + e);
+        }
+    }
+
+    /** Forget the in-memory samples so the next call reloads -DTIMING_PROFILE (tests). */
+    static synchronized void reset() {
+        samples.clear();
+        file = null;
+        loaded = dirty = false;
+    }
+
+    // ===== internals =====
+
+    /** Percentile in ms, or -1 when the profile is off or has too few samples. */
+    private static synchronized long percentile(String name, double q) {
+        if (name == null || !ensureLoaded()) return -1;
+        ArrayDeque<Long> s = samples.get(name);
+        if (s == null || s.size() < MIN_SAMPLES) return -1;
+        return percentile(s.stream().mapToLong(Long::longValue).sorted().toArray(), q);
+    }
+
+    /** Nearest-rank percentile of ascending samples. */
+    static long percentile(long[] sorted, double q) {
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /** p99.9 × factor, at least minMs, never above the hard-coded fallback. */
+    static long tunedTimeout(long p999, double factor, long minMs, long fallbackMs) {
+        return Math.min(fallbackMs, Math.max(minMs, (long) Math.ceil(p999 * factor)));
+    }
+
+    /** p50 / 5, at least floorMs, never above the hard-coded fallback. */
+    static long tunedPoll(long p50, long floorMs, long fallbackMs) {
+        return Math.min(fallbackMs, Math.max(floorMs, p50 / 5));
+    }
+
+    private static boolean ensureLoaded() {
+        if (loaded) return file != null;
+        loaded = true;
+        String path = System.getProperty("TIMING_PROFILE");
+        if (path == null || path.isBlank()) return false;
+        file = Path.of(path);
+        if (Files.isRegularFile(file)) {
+            Properties p = new Properties();
+            try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                p.load(r);
+            } catch (IOException e) {
+                System.err.println("[TimingProfile] cannot read " + file + ": " + e);
+            }
+            for (String k : p.stringPropertyNames()) {
+                ArrayDeque<Long> q = new ArrayDeque<>();
+                for (String v : p.getProperty(k).split(",")) {
+                    try { q.addLast(Long.parseLong(v.trim())); } catch (NumberFormatException ignored) {}
+                }
+                while (q.size() > MAX_SAMPLES) q.removeFirst();
+                samples.put(k, q);
+            }
+        }
+        if (!hooked) {
+            hooked = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(TimingProfile::save, "timing-profile-save"));
+        }
+        return true;
+    }
+
+    private static String joinSamples(Collection<Long> q) {
+        StringJoiner j = new StringJoiner(",");
+        for (Long v : q) j.add(Long.toString(v));
+        return j.toString();
+    }
+}
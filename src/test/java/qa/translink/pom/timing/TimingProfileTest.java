@@ -0,0 +1,112 @@
+package qa.translink.pom.timing;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.time.Duration;
+
+public class TimingProfileTest {
+
+    @BeforeMethod
+    @AfterMethod
+    public void clean() {
+        System.clearProperty("TIMING_PROFILE");
+        TimingProfile.reset();
+    }
+
+    @Test
+    public void nearest_rank_percentile() {
+        long[] sorted = new long[100];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = i + 1; // 1..100
+
+        Assert.assertEquals(TimingProfile.percentile(sorted, 0.5), 50);
+        Assert.assertEquals(TimingProfile.percentile(sorted, 0.999), 100);
+        Assert.assertEquals(TimingProfile.percentile(sorted, 0.0), 1);
+        Assert.assertEquals(TimingProfile.percentile(new long[]{7}, 0.5), 7);
+    }
+
+    @Test
+    public void timeout_is_clamped_between_minimum_and_fallback() {
+        Assert.assertEquals(TimingProfile.tunedTimeout(800, 3, 1000, 20_000), 2400);
+        Assert.assertEquals(TimingProfile.tunedTimeout(100, 3, 1000, 20_000), 1000);  // raised to TIMING_MIN_MS
+        Assert.assertEquals(TimingProfile.tunedTimeout(9000, 3, 1000, 20_000), 20_000); // never above the fallback
+    }
+
+    @Test
+    public void poll_is_clamped_between_floor_and_fallback() {
+        Assert.assertEquals(TimingProfile.tunedPoll(1000, 100, 250), 200);
+        Assert.assertEquals(TimingProfile.tunedPoll(50, 100, 250), 100);   // fast waits stop at the floor
+        Assert.assertEquals(TimingProfile.tunedPoll(5000, 100, 250), 250); // slow waits keep the fallback
+        Assert.assertEquals(TimingProfile.tunedPoll(50, 200, 250), 200);   // per-call floor
+    }
+
+    @Test
+    public void fallback_without_profile_and_override_wins() {
+        Assert.assertEquals(TimingProfile.timeout("test.unprofiled", Duration.ofSeconds(5)), Duration.ofSeconds(5));
+        Assert.assertEquals(TimingProfile.poll(null, Duration.ofMillis(250)), Duration.ofMillis(250));
+
+        System.setProperty("POLL.test.overridden", "40");
+        try {
+            Assert.assertEquals(TimingProfile.poll("test.overridden", Duration.ofMillis(250), Duration.ofMillis(200)),
+                    Duration.ofMillis(40));
+        } finally {
+            System.clearProperty("POLL.test.overridden");
+        }
+    }
+
+    @Test
+    public void extended_wait_raises_the_next_timeout() throws Exception {
+        Duration fallback = Duration.ofSeconds(10);
+        tuneTo100ms("test.deadline");
+        Assert.assertEquals(TimingProfile.timeout("test.deadline", fallback), Duration.ofMillis(1000));
+
+        Deadline deadline = new Deadline("test.deadline", fallback);
+        long readyAt = System.currentTimeMillis() + 1300;
+        boolean ready = false;
+        while (deadline.pending()) {
+            if (System.currentTimeMillis() >= readyAt) { ready = true; deadline.succeeded(); break; }
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(ready, "deadline must extend past the tuned 1 s");
+        Assert.assertTrue(TimingProfile.timeout("test.deadline", fallback).toMillis() >= 3900);
+    }
+
+    @Test
+    public void timed_out_wait_is_recorded_and_raises_the_next_timeout() throws Exception {
+        Duration fallback = Duration.ofMillis(1500);
+        tuneTo100ms("test.wait");
+        Assert.assertEquals(TimingProfile.timeout("test.wait", fallback), Duration.ofMillis(1000));
+
+        TimedWait wait = new TimedWait(fakeDriver(), "test.wait", fallback, Duration.ofMillis(50));
+        Assert.assertThrows(TimeoutException.class, () -> wait.until(drv -> null));
+
+        Assert.assertEquals(TimingProfile.timeout("test.wait", fallback), fallback); // min(fallback, ~1500 × 3)
+    }
+
+    @Test
+    public void timed_wait_goes_on_to_the_fallback_before_failing() throws Exception {
+        Duration fallback = Duration.ofSeconds(10);
+        tuneTo100ms("test.slow");
+
+        long readyAt = System.currentTimeMillis() + 1200;
+        TimedWait wait = new TimedWait(fakeDriver(), "test.slow", fallback, Duration.ofMillis(50));
+        Assert.assertEquals(wait.until(drv -> System.currentTimeMillis() >= readyAt ? "ready" : null), "ready");
+        Assert.assertTrue(TimingProfile.timeout("test.slow", fallback).toMillis() >= 3600);
+    }
+
+    private static void tuneTo100ms(String name) throws Exception {
+        System.setProperty("TIMING_PROFILE", Files.createTempDirectory("tp").resolve("timing.properties").toString());
+        for (int i = 0; i < TimingProfile.MIN_SAMPLES; i++) TimingProfile.record(name, Duration.ofMillis(100));
+    }
+
+    private static WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, m, args) -> m.getName().equals("toString") ? "fake" : null);
+    }
+}